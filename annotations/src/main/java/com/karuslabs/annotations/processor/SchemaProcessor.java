@@ -0,0 +1,204 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.annotations.processor;
+
+import com.google.auto.service.AutoService;
+
+import com.karuslabs.annotations.Schema;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import javax.annotation.processing.*;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.ElementFilter;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static com.karuslabs.annotations.processor.Messages.*;
+import static javax.lang.model.SourceVersion.RELEASE_11;
+import static javax.lang.model.element.Modifier.*;
+
+
+@AutoService(javax.annotation.processing.Processor.class)
+@SupportedSourceVersion(RELEASE_11)
+@SupportedAnnotationTypes("com.karuslabs.annotations.Schema")
+public class SchemaProcessor extends AnnotationProcessor {
+    
+    // Keys are resolved by name since commons depends on this module
+    static final String KEY = "com.karuslabs.commons.util.collection.TokenMap.Key";
+    
+    
+    Filer filer;
+    @Nullable TypeMirror key;
+    TypeMirror object;
+    
+    
+    @Override
+    public void init(ProcessingEnvironment environment) {
+        super.init(environment);
+        filer = environment.getFiler();
+        
+        var element = elements.getTypeElement(KEY);
+        key = element == null ? null : types.erasure(element.asType());
+        object = elements.getTypeElement(Object.class.getName()).asType();
+    }
+    
+    
+    @Override
+    protected void process(Element element) {
+        if (!element.getKind().isClass() && !element.getKind().isInterface()) {
+            error(element, format(element, "is not a class or interface", "@Schema should only annotate classes and interfaces"));
+            return;
+        }
+        
+        if (key == null) {
+            error(element, format(KEY, "could not be found", "Chimera's commons should be on the classpath"));
+            return;
+        }
+        
+        var type = (TypeElement) element;
+        var fields = new ArrayList<String>();
+        TypeMirror name = null;
+        TypeMirror value = null;
+        
+        for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!types.isSameType(types.erasure(field.asType()), key)) {
+                continue;
+            }
+            
+            var modifiers = field.getModifiers();
+            if (!modifiers.contains(STATIC) || !modifiers.contains(FINAL) || modifiers.contains(PRIVATE)) {
+                error(field, format(field.getSimpleName(), "is an invalid key", "should be static, final and non-private"));
+                return;
+            }
+            
+            if (field.getSimpleName().toString().equals("SCHEMA")) {
+                error(field, format(field.getSimpleName(), "is an invalid key name", "should not clash with the generated SCHEMA field"));
+                return;
+            }
+            
+            var argument = argument(field.asType(), 0);
+            if (name == null) {
+                name = argument;
+                
+            } else if (!types.isSameType(name, argument)) {
+                error(field, format(field.getSimpleName(), "has a different name type from other keys in the schema", "should be a Key<" + name + ", ?>"));
+                return;
+            }
+            
+            value = value == null ? argument(field.asType(), 1) : common(value, argument(field.asType(), 1));
+            fields.add(field.getSimpleName().toString());
+        }
+        
+        if (fields.isEmpty()) {
+            error(element, format(element, "does not contain any keys", "should contain at least one static final key"));
+            return;
+        }
+        
+        var annotation = element.getAnnotation(Schema.class);
+        var file = annotation.value().isEmpty() ? element.getSimpleName() + "Schema" : annotation.value();
+        var pack = elements.getPackageOf(element).getQualifiedName().toString();
+        var source = generate(pack, file, type.getQualifiedName().toString(), name.toString(), value.toString(), fields);
+        
+        try (var writer = filer.createSourceFile(pack.isEmpty() ? file : pack + "." + file, element).openWriter()) {
+            writer.write(source);
+            
+        } catch (FilerException ignored) {
+            error(element, format(file, "already exists"));
+            
+        } catch (IOException ignored) {
+            error(element, "Failed to create file: " + quote(file));
+        }
+    }
+    
+    // Returns the declared type argument at the given index, or the upper bound
+    // of a wildcard, defaulting to Object
+    TypeMirror argument(TypeMirror type, int index) {
+        var arguments = ((DeclaredType) type).getTypeArguments();
+        if (arguments.size() <= index) {
+            return object;
+        }
+        
+        var argument = arguments.get(index);
+        if (argument.getKind() == TypeKind.WILDCARD) {
+            var bound = ((WildcardType) argument).getExtendsBound();
+            argument = bound == null ? object : bound;
+        }
+        
+        return argument.getKind() == TypeKind.DECLARED ? argument : object;
+    }
+    
+    // Returns the nearest supertype of the given type, including itself, that
+    // the other type is assignable to
+    TypeMirror common(TypeMirror type, TypeMirror other) {
+        var supertypes = new ArrayDeque<TypeMirror>();
+        supertypes.add(type);
+        
+        while (!supertypes.isEmpty()) {
+            var supertype = supertypes.poll();
+            if (types.isAssignable(other, supertype)) {
+                return supertype;
+            }
+            
+            supertypes.addAll(types.directSupertypes(supertype));
+        }
+        
+        return object;
+    }
+    
+    
+    String generate(String pack, String file, String type, String name, String value, List<String> fields) {
+        var builder = new StringBuilder();
+        if (!pack.isEmpty()) {
+            builder.append("package ").append(pack).append(";\n\n");
+        }
+        builder.append("import com.karuslabs.commons.util.collection.*;\n\n\n");
+        builder.append("/**\n");
+        builder.append(" * This file was generated at ").append(LocalDateTime.now()).append(" by SchemaProcessor\n");
+        builder.append(" */\n");
+        builder.append("public final class ").append(file).append(" {\n\n");
+        
+        builder.append("    public static final KeySchema<").append(name).append(", ").append(value).append("> SCHEMA = KeySchema.of(\n");
+        for (int i = 0; i < fields.size(); i++) {
+            builder.append("        ").append(type).append('.').append(fields.get(i)).append(i < fields.size() - 1 ? ",\n" : "\n");
+        }
+        builder.append("    );\n\n");
+        
+        for (int i = 0; i < fields.size(); i++) {
+            builder.append("    public static final int ").append(fields.get(i)).append(" = ").append(i).append(";\n");
+        }
+        builder.append("\n");
+        
+        builder.append("    public static SchemaTokenMap<").append(name).append(", ").append(value).append("> map() {\n");
+        builder.append("        return TokenMap.of(SCHEMA);\n");
+        builder.append("    }\n\n");
+        
+        builder.append("    private ").append(file).append("() {}\n\n");
+        
+        return builder.append("}\n").toString();
+    }
+    
+}
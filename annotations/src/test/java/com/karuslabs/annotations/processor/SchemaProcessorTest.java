@@ -0,0 +1,255 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.annotations.processor;
+
+import com.karuslabs.annotations.Schema;
+
+import java.io.*;
+import java.util.*;
+import javax.annotation.processing.*;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import javax.tools.JavaFileObject;
+
+import org.junit.jupiter.api.*;
+
+import static com.karuslabs.annotations.processor.Messages.format;
+import static javax.lang.model.element.Modifier.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+class SchemaProcessorTest {
+    
+    SchemaProcessor processor = spy(new SchemaProcessor());
+    Elements elements = mock(Elements.class);
+    Types types = mock(Types.class);
+    Filer filer = mock(Filer.class);
+    TypeElement type = mock(TypeElement.class);
+    VariableElement field = mock(VariableElement.class);
+    DeclaredType mirror = mock(DeclaredType.class);
+    DeclaredType string = mock(DeclaredType.class);
+    DeclaredType integer = mock(DeclaredType.class);
+    TypeMirror object = mock(TypeMirror.class);
+    TypeMirror key = mock(TypeMirror.class);
+    Schema schema = mock(Schema.class);
+    Name simple = name("Options");
+    Name qualified = name("demo.Options");
+    Name pack = name("demo");
+    Name size = name("SIZE");
+    StringWriter writer = new StringWriter();
+    
+    
+    @BeforeEach
+    void before() throws IOException {
+        doNothing().when(processor).error(any(), any());
+        
+        var element = mock(TypeElement.class);
+        var erased = mock(TypeMirror.class);
+        when(element.asType()).thenReturn(erased);
+        when(elements.getTypeElement(SchemaProcessor.KEY)).thenReturn(element);
+        when(types.erasure(erased)).thenReturn(key);
+        
+        var root = mock(TypeElement.class);
+        when(root.asType()).thenReturn(object);
+        when(object.toString()).thenReturn("java.lang.Object");
+        when(elements.getTypeElement(Object.class.getName())).thenReturn(root);
+        
+        var environment = mock(ProcessingEnvironment.class);
+        when(environment.getElementUtils()).thenReturn(elements);
+        when(environment.getTypeUtils()).thenReturn(types);
+        when(environment.getMessager()).thenReturn(mock(Messager.class));
+        when(environment.getFiler()).thenReturn(filer);
+        
+        processor.init(environment);
+        
+        when(type.getKind()).thenReturn(ElementKind.CLASS);
+        when(type.getSimpleName()).thenReturn(simple);
+        when(type.getQualifiedName()).thenReturn(qualified);
+        when(type.getAnnotation(Schema.class)).thenReturn(schema);
+        when(schema.value()).thenReturn("");
+        doReturn(List.of(field)).when(type).getEnclosedElements();
+        
+        var declaration = mock(PackageElement.class);
+        when(declaration.getQualifiedName()).thenReturn(pack);
+        when(elements.getPackageOf(type)).thenReturn(declaration);
+        
+        when(field.getKind()).thenReturn(ElementKind.FIELD);
+        when(field.getSimpleName()).thenReturn(size);
+        when(field.getModifiers()).thenReturn(Set.of(PUBLIC, STATIC, FINAL));
+        when(field.asType()).thenReturn(mirror);
+        
+        doReturn(List.of(string, integer)).when(mirror).getTypeArguments();
+        when(string.getKind()).thenReturn(TypeKind.DECLARED);
+        when(string.toString()).thenReturn("java.lang.String");
+        when(integer.getKind()).thenReturn(TypeKind.DECLARED);
+        when(integer.toString()).thenReturn("java.lang.Integer");
+        
+        when(types.erasure(mirror)).thenReturn(key);
+        when(types.isSameType(key, key)).thenReturn(true);
+        
+        var file = mock(JavaFileObject.class);
+        when(file.openWriter()).thenReturn(writer);
+        when(filer.createSourceFile("demo.OptionsSchema", type)).thenReturn(file);
+    }
+    
+    
+    @Test
+    void process() {
+        processor.process(type);
+        
+        var source = writer.toString();
+        assertTrue(source.startsWith("package demo;"));
+        assertTrue(source.contains("public final class OptionsSchema {"));
+        assertTrue(source.contains("KeySchema<java.lang.String, java.lang.Integer> SCHEMA = KeySchema.of(\n        demo.Options.SIZE\n    );"));
+        assertTrue(source.contains("public static final int SIZE = 0;"));
+        assertTrue(source.contains("public static SchemaTokenMap<java.lang.String, java.lang.Integer> map() {"));
+        assertFalse(source.contains("Chimera"));
+        verify(processor, never()).error(any(), any());
+    }
+    
+    
+    @Test
+    void process_values() {
+        var other = mock(VariableElement.class);
+        var otherMirror = mock(DeclaredType.class);
+        var text = mock(DeclaredType.class);
+        var length = name("LENGTH");
+        
+        doReturn(List.of(field, other)).when(type).getEnclosedElements();
+        when(other.getKind()).thenReturn(ElementKind.FIELD);
+        when(other.getSimpleName()).thenReturn(length);
+        when(other.getModifiers()).thenReturn(Set.of(STATIC, FINAL));
+        when(other.asType()).thenReturn(otherMirror);
+        when(types.erasure(otherMirror)).thenReturn(key);
+        when(types.isSameType(string, string)).thenReturn(true);
+        doReturn(List.of(string, text)).when(otherMirror).getTypeArguments();
+        when(text.getKind()).thenReturn(TypeKind.DECLARED);
+        
+        processor.process(type);
+        
+        assertTrue(writer.toString().contains("KeySchema<java.lang.String, java.lang.Object> SCHEMA = KeySchema.of(\n        demo.Options.SIZE,\n        demo.Options.LENGTH\n    );"));
+        verify(processor, never()).error(any(), any());
+    }
+    
+    
+    @Test
+    void common() {
+        var number = mock(DeclaredType.class);
+        var decimal = mock(DeclaredType.class);
+        doReturn(List.of(number)).when(types).directSupertypes(integer);
+        when(types.isAssignable(integer, integer)).thenReturn(true);
+        when(types.isAssignable(decimal, number)).thenReturn(true);
+        
+        assertSame(integer, processor.common(integer, integer));
+        assertSame(number, processor.common(integer, decimal));
+        assertSame(object, processor.common(integer, string));
+    }
+    
+    
+    @Test
+    void process_missing_key() {
+        processor.key = null;
+        
+        processor.process(type);
+        
+        verify(processor).error(type, format(SchemaProcessor.KEY, "could not be found", "Chimera's commons should be on the classpath"));
+        verifyNoInteractions(filer);
+    }
+    
+    
+    @Test
+    void process_kind() {
+        when(type.getKind()).thenReturn(ElementKind.ENUM_CONSTANT);
+        
+        processor.process(type);
+        
+        verify(processor).error(type, format(type, "is not a class or interface", "@Schema should only annotate classes and interfaces"));
+        verifyNoInteractions(filer);
+    }
+    
+    
+    @Test
+    void process_private() {
+        when(field.getModifiers()).thenReturn(Set.of(PRIVATE, STATIC, FINAL));
+        
+        processor.process(type);
+        
+        verify(processor).error(field, format("SIZE", "is an invalid key", "should be static, final and non-private"));
+        verifyNoInteractions(filer);
+    }
+    
+    
+    @Test
+    void process_schema() {
+        var name = name("SCHEMA");
+        when(field.getSimpleName()).thenReturn(name);
+        
+        processor.process(type);
+        
+        verify(processor).error(field, format("SCHEMA", "is an invalid key name", "should not clash with the generated SCHEMA field"));
+        verifyNoInteractions(filer);
+    }
+    
+    
+    @Test
+    void process_empty() {
+        doReturn(List.of()).when(type).getEnclosedElements();
+        
+        processor.process(type);
+        
+        verify(processor).error(type, format(type, "does not contain any keys", "should contain at least one static final key"));
+        verifyNoInteractions(filer);
+    }
+    
+    
+    @Test
+    void process_exists() throws IOException {
+        when(filer.createSourceFile("demo.OptionsSchema", type)).thenThrow(FilerException.class);
+        
+        processor.process(type);
+        
+        verify(processor).error(type, "\"OptionsSchema\" already exists");
+    }
+    
+    
+    @Test
+    void generate() {
+        var source = processor.generate("", "Keys", "Options", "java.lang.String", "java.lang.Number", List.of("A", "B"));
+        
+        assertFalse(source.contains("package"));
+        assertTrue(source.contains("KeySchema<java.lang.String, java.lang.Number> SCHEMA = KeySchema.of(\n        Options.A,\n        Options.B\n    );"));
+        assertTrue(source.contains("public static final int B = 1;"));
+        assertTrue(source.contains("private Keys() {}"));
+    }
+    
+    
+    static Name name(String value) {
+        Name name = mock(Name.class);
+        when(name.toString()).thenReturn(value);
+        return name;
+    }
+    
+}
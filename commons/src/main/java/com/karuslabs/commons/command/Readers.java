@@ -36,6 +36,13 @@ public @Static class Readers {
     public static final Pattern COMMA = Pattern.compile("([,]\\s*)");
     
     
+    public static void skipUnquoted(StringReader reader) {
+        while (reader.canRead() && StringReader.isAllowedInUnquotedString(reader.peek())) {
+            reader.skip();
+        }
+    }
+    
+    
     public static String until(StringReader reader, char delimiter) {
         var start = reader.getCursor();
         while (reader.canRead() && reader.peek() != delimiter) {
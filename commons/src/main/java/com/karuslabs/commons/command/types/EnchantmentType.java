@@ -23,7 +23,9 @@
  */
 package com.karuslabs.commons.command.types;
 
-import com.karuslabs.commons.util.collection.Trie;
+import com.karuslabs.commons.command.Readers;
+import com.karuslabs.commons.util.collection.ImmutableTrie;
+import com.karuslabs.commons.util.collection.RankedTrie;
 
 import com.mojang.brigadier.*;
 import com.mojang.brigadier.context.CommandContext;
@@ -38,33 +40,40 @@ import org.bukkit.enchantments.Enchantment;
 
 public class EnchantmentType implements WordType<Enchantment> {
     
-    static final Trie<Enchantment> ENCHANTMENTS;
-    static final DynamicCommandExceptionType EXCEPTION = new DynamicCommandExceptionType(enchantment -> new LiteralMessage("Unknown enchantment: " + enchantment));
+    static final ImmutableTrie<Enchantment> ENCHANTMENTS;
+    static final RankedTrie<Enchantment> RANKED = new RankedTrie<>();
+    static final int SUGGESTIONS = 20;
+    static final DynamicCommandExceptionType EXCEPTION = new DynamicCommandExceptionType(enchantment -> Typos.unknown("enchantment", enchantment, EnchantmentType.ENCHANTMENTS));
     static final List<String> EXAMPLES = List.of("arrow_damage", "channeling");
     
     static {
-        ENCHANTMENTS = new Trie<>();
+        var enchantments = new HashMap<String, Enchantment>();
         for (var enchantment : Enchantment.values()) {
-            ENCHANTMENTS.put(enchantment.getKey().getKey(), enchantment);
+            enchantments.put(enchantment.getKey().getKey(), enchantment);
+            RANKED.put(enchantment.getKey().getKey(), enchantment);
         }
+        
+        ENCHANTMENTS = ImmutableTrie.copyOf(enchantments);
     }
     
     
     @Override
     public Enchantment parse(StringReader reader) throws CommandSyntaxException {
-        var name = reader.readUnquotedString().toLowerCase();
-        var enchantment = ENCHANTMENTS.get(name);
+        var start = reader.getCursor();
+        Readers.skipUnquoted(reader);
         
+        var enchantment = ENCHANTMENTS.getLowercase(reader.getString(), start, reader.getCursor());
         if (enchantment == null) {
-            throw EXCEPTION.createWithContext(reader, name);
+            throw EXCEPTION.createWithContext(reader, reader.getString().substring(start, reader.getCursor()).toLowerCase());
         }
         
+        RANKED.bump(enchantment.getKey().getKey());
         return enchantment;
     }
 
     @Override
     public <S> CompletableFuture<Suggestions> listSuggestions(CommandContext<S> context, SuggestionsBuilder builder) {
-        for (var enchantment : ENCHANTMENTS.prefixedKeys(builder.getRemaining())) {
+        for (var enchantment : RANKED.top(builder.getRemaining(), SUGGESTIONS)) {
             builder.suggest(enchantment);
         }
         
@@ -23,7 +23,10 @@
  */
 package com.karuslabs.commons.command.types;
 
-import com.karuslabs.commons.util.collection.Trie;
+import com.karuslabs.commons.command.Readers;
+import com.karuslabs.commons.util.collection.ImmutableTrie;
+import com.karuslabs.commons.util.collection.InfixIndex;
+import com.karuslabs.commons.util.collection.RankedTrie;
 
 import com.mojang.brigadier.*;
 import com.mojang.brigadier.context.CommandContext;
@@ -39,44 +42,81 @@ import org.bukkit.Material;
 
 public class MaterialType implements WordType<Material> {
     
-    static final Trie<Material> MATERIALS;
-    static final DynamicCommandExceptionType EXCEPTION = new DynamicCommandExceptionType(material -> new LiteralMessage("Unknown material: " + material));
+    static final ImmutableTrie<Material> MATERIALS;
+    static final RankedTrie<Material> RANKED = new RankedTrie<>();
+    static final int SUGGESTIONS = 20;
+    static final DynamicCommandExceptionType EXCEPTION = new DynamicCommandExceptionType(material -> Typos.unknown("material", material, MaterialType.MATERIALS));
     static final List<String> EXAMPLES = List.of("flint_and_steel", "tnt");
     
     static {
-        MATERIALS = new Trie<>();
+        var materials = new HashMap<String, Material>();
         
         var warn = true;
         for (var material : Material.values()) {
             if (!material.isLegacy()) {
-                MATERIALS.put(material.getKey().getKey(), material);
+                materials.put(material.getKey().getKey(), material);
+                RANKED.put(material.getKey().getKey(), material);
                 
             } else if (warn) {
                 Bukkit.getLogger().warning("Leagcy Material enumerations are not supported. Please add 'api-version: 1.13' to your plugin.yml");
                 warn = false;
             }
         }
+        
+        MATERIALS = ImmutableTrie.copyOf(materials);
+    }
+    
+    
+    private final boolean infixes;
+    
+    
+    public MaterialType() {
+        this(false);
+    }
+    
+    public MaterialType(boolean infixes) {
+        this.infixes = infixes;
     }
     
     
     @Override
     public Material parse(StringReader reader) throws CommandSyntaxException {
-        var name = reader.readUnquotedString().toLowerCase();
-        var material = MATERIALS.get(name);
+        var start = reader.getCursor();
+        Readers.skipUnquoted(reader);
         
+        var material = MATERIALS.getLowercase(reader.getString(), start, reader.getCursor());
         if (material == null) {
-            throw EXCEPTION.createWithContext(reader, name);
+            throw EXCEPTION.createWithContext(reader, reader.getString().substring(start, reader.getCursor()).toLowerCase());
         }
         
+        RANKED.bump(material.getKey().getKey());
         return material;
     }
 
     @Override
     public <S> CompletableFuture<Suggestions> listSuggestions(CommandContext<S> context, SuggestionsBuilder builder) {
-        for (var material : MATERIALS.prefixedKeys(builder.getRemaining())) {
+        var remaining = builder.getRemaining();
+        var materials = RANKED.top(remaining, SUGGESTIONS);
+        for (var material : materials) {
             builder.suggest(material);
         }
         
+        // RANKED returns fewer than SUGGESTIONS materials only if it returned every
+        // prefixed material, so the first SUGGESTIONS infix matches are enough to
+        // fill the remaining suggestions
+        if (infixes && materials.size() < SUGGESTIONS) {
+            var suggestions = materials.size();
+            for (var material : Infixes.INDEX.containing(remaining, SUGGESTIONS)) {
+                if (suggestions >= SUGGESTIONS) {
+                    break;
+                    
+                } else if (!material.startsWith(remaining)) {
+                    builder.suggest(material);
+                    suggestions++;
+                }
+            }
+        }
+        
         return builder.buildFuture();
     }
 
@@ -85,4 +125,12 @@ public class MaterialType implements WordType<Material> {
         return EXAMPLES;
     }
     
+    
+    // Builds the index on first use since most MaterialTypes never suggest infixes
+    static class Infixes {
+        
+        static final InfixIndex INDEX = InfixIndex.copyOf(MATERIALS.keySet());
+        
+    }
+    
 }
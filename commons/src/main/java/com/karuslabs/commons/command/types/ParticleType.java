@@ -23,7 +23,9 @@
  */
 package com.karuslabs.commons.command.types;
 
-import com.karuslabs.commons.util.collection.Trie;
+import com.karuslabs.commons.command.Readers;
+import com.karuslabs.commons.util.collection.ImmutableTrie;
+import com.karuslabs.commons.util.collection.RankedTrie;
 
 import com.mojang.brigadier.*;
 import com.mojang.brigadier.context.CommandContext;
@@ -38,33 +40,43 @@ import org.bukkit.Particle;
 
 public class ParticleType implements WordType<Particle> {
 
-    static final Trie<Particle> PARTICLES;
-    static final DynamicCommandExceptionType EXCEPTION = new DynamicCommandExceptionType(particle -> new LiteralMessage("Unknown particle: " + particle));
+    static final ImmutableTrie<Particle> PARTICLES;
+    static final RankedTrie<Particle> RANKED = new RankedTrie<>();
+    static final Map<Particle, String> NAMES = new EnumMap<>(Particle.class);
+    static final int SUGGESTIONS = 20;
+    static final DynamicCommandExceptionType EXCEPTION = new DynamicCommandExceptionType(particle -> Typos.unknown("particle", particle, ParticleType.PARTICLES));
     static final List<String> EXAMPLES = List.of("barrier", "bubble_column_up");
     
     static {
-        PARTICLES = new Trie<>();
+        var particles = new HashMap<String, Particle>();
         for (var particle : Particle.values()) {
-            PARTICLES.put(particle.toString().toLowerCase(), particle);
+            var name = particle.toString().toLowerCase();
+            particles.put(name, particle);
+            RANKED.put(name, particle);
+            NAMES.put(particle, name);
         }
+        
+        PARTICLES = ImmutableTrie.copyOf(particles);
     }
     
     
     @Override
     public Particle parse(StringReader reader) throws CommandSyntaxException {
-        var name = reader.readUnquotedString().toLowerCase();
-        var particles = PARTICLES.get(name);
+        var start = reader.getCursor();
+        Readers.skipUnquoted(reader);
         
+        var particles = PARTICLES.getLowercase(reader.getString(), start, reader.getCursor());
         if (particles == null) {
-            throw EXCEPTION.createWithContext(reader, name);
+            throw EXCEPTION.createWithContext(reader, reader.getString().substring(start, reader.getCursor()).toLowerCase());
         }
         
+        RANKED.bump(NAMES.get(particles));
         return particles;
     }
 
     @Override
     public <S> CompletableFuture<Suggestions> listSuggestions(CommandContext<S> context, SuggestionsBuilder builder) {
-        for (var particles : PARTICLES.prefixedKeys(builder.getRemaining())) {
+        for (var particles : RANKED.top(builder.getRemaining(), SUGGESTIONS)) {
             builder.suggest(particles);
         }
         
@@ -0,0 +1,48 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.command.types;
+
+import com.karuslabs.annotations.Static;
+import com.karuslabs.commons.util.collection.ImmutableTrie;
+
+import com.mojang.brigadier.*;
+
+
+@Static class Typos {
+    
+    static final int LIMIT = 3;
+    
+    
+    static Message unknown(String type, Object name, ImmutableTrie<?> trie) {
+        var key = name.toString();
+        var suggestions = trie.fuzzy(key, key.length() < 5 ? 1 : 2, LIMIT);
+        if (suggestions.isEmpty()) {
+            return new LiteralMessage("Unknown " + type + ": " + key);
+            
+        } else {
+            return new LiteralMessage("Unknown " + type + ": " + key + ", did you mean: " + String.join(", ", suggestions) + "?");
+        }
+    }
+    
+}
@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.function.Function;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+// Entries are references registered with a queue. Entries whose values have
+// been reclaimed are removed from the queue on each access, which costs time
+// proportional to the number of reclaimed entries instead of the cache's size.
+// Accesses are synchronized on the cache since every access, including a read,
+// reorders the entries.
+public abstract class ReferenceCache<K, V> {
+    
+    final ReferenceQueue<V> queue;
+    final Entries entries;
+    final int maximum;
+    long hits;
+    long misses;
+    
+    
+    ReferenceCache(int maximum) {
+        if (maximum < 1) {
+            throw new IllegalArgumentException("Illegal maximum size: " + maximum);
+        }
+        
+        this.queue = new ReferenceQueue<>();
+        this.entries = new Entries();
+        this.maximum = maximum;
+    }
+    
+    
+    public synchronized @Nullable V get(K key) {
+        expunge();
+        
+        var reference = entries.get(key);
+        var value = reference == null ? null : reference.get();
+        if (value != null) {
+            hits++;
+            
+        } else {
+            misses++;
+        }
+        
+        return value;
+    }
+    
+    // The function is applied outside the lock, so a value computed concurrently
+    // by another thread takes precedence
+    public @Nullable V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        var value = get(key);
+        if (value != null) {
+            return value;
+        }
+        
+        value = function.apply(key);
+        if (value == null) {
+            return null;
+        }
+        
+        synchronized (this) {
+            expunge();
+            
+            var reference = entries.get(key);
+            var current = reference == null ? null : reference.get();
+            if (current != null) {
+                return current;
+            }
+            
+            entries.put(key, reference(key, value));
+            return value;
+        }
+    }
+    
+    public synchronized @Nullable V put(K key, V value) {
+        expunge();
+        
+        var reference = entries.put(key, reference(key, Objects.requireNonNull(value, "Null values are not permitted in a cache")));
+        return reference == null ? null : reference.get();
+    }
+    
+    public synchronized @Nullable V remove(K key) {
+        expunge();
+        
+        var reference = entries.remove(key);
+        return reference == null ? null : reference.get();
+    }
+    
+    public synchronized void clear() {
+        entries.clear();
+        while (queue.poll() != null);
+    }
+    
+    
+    public synchronized int size() {
+        expunge();
+        return entries.size();
+    }
+    
+    public int maximum() {
+        return maximum;
+    }
+    
+    public synchronized long hits() {
+        return hits;
+    }
+    
+    public synchronized long misses() {
+        return misses;
+    }
+    
+    
+    void expunge() {
+        for (Reference<? extends V> reference; (reference = queue.poll()) != null;) {
+            // The key may have been remapped since the reference was enqueued.
+            // Unlike get, a conditional remove does not reorder the entries.
+            entries.remove(((Keyed<?>) reference).key(), reference);
+        }
+    }
+    
+    abstract Reference<V> reference(K key, V value);
+    
+    
+    static interface Keyed<K> {
+        
+        K key();
+        
+    }
+    
+    
+    // Evicts the least recently used entry once the cache exceeds its maximum size
+    class Entries extends LinkedHashMap<K, Reference<V>> {
+        
+        Entries() {
+            super(16, 0.75f, true);
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Reference<V>> eldest) {
+            return size() > maximum;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util;
+
+import java.lang.ref.*;
+
+
+public final class SoftCache<K, V> extends ReferenceCache<K, V> {
+    
+    public SoftCache() {
+        this(Integer.MAX_VALUE);
+    }
+    
+    public SoftCache(int maximum) {
+        super(maximum);
+    }
+    
+    
+    @Override
+    Reference<V> reference(K key, V value) {
+        return new Entry<>(key, value, queue);
+    }
+    
+    
+    // WeakValue is a WeakReference, hence soft entries extend SoftReference directly
+    static final class Entry<K, V> extends SoftReference<V> implements Keyed<K> {
+        
+        final K key;
+        
+        
+        Entry(K key, V value, ReferenceQueue<? super V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+        
+        
+        @Override
+        public K key() {
+            return key;
+        }
+        
+    }
+    
+}
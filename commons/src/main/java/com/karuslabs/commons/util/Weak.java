@@ -25,7 +25,7 @@ package com.karuslabs.commons.util;
 
 import com.karuslabs.annotations.ValueType;
 
-import java.lang.ref.WeakReference;
+import java.lang.ref.*;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Stream;
@@ -76,7 +76,7 @@ public @ValueType interface Weak<T> {
 }
 
 
-@ValueType final class WeakValue<T> extends WeakReference<T> implements Weak<T> {
+@ValueType class WeakValue<T> extends WeakReference<T> implements Weak<T> {
     
     static final Weak<?> EMPTY = new WeakValue<>(null);
     
@@ -84,6 +84,10 @@ public @ValueType interface Weak<T> {
     WeakValue(T referent) {
         super(referent);
     }
+    
+    WeakValue(T referent, ReferenceQueue<? super T> queue) {
+        super(referent, queue);
+    }
 
     
     @Override
@@ -0,0 +1,466 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.Type;
+import com.karuslabs.commons.util.collection.TokenMap.Key;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+
+class ArrayTokenMap<N, T> implements TokenMap<N, T> {
+    
+    static final Object[] NONE = {};
+    static final Class<?>[] UNALLOCATED = {};
+    static final Class<?> REMOVED = Removed.class;
+    static final int CAPACITY = 4;
+    
+    
+    // Names, types and values are stored in parallel arrays probed linearly. A
+    // null type marks an empty slot and REMOVED marks a removed entry.
+    Object[] names;
+    Class<?>[] types;
+    Object[] values;
+    int capacity;
+    int size;
+    int used;
+    int modifications;
+    @Nullable Entries map;
+    
+    
+    ArrayTokenMap() {
+        this(CAPACITY);
+    }
+    
+    ArrayTokenMap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        
+        names = NONE;
+        types = UNALLOCATED;
+        values = NONE;
+        this.capacity = capacity;
+    }
+    
+    // Copies the live entries of the given map into tables sized for the
+    // given number of entries, leaving the given map untouched.
+    ArrayTokenMap(ArrayTokenMap<N, ? extends T> map, int entries) {
+        this(CAPACITY);
+        if (map.size > 0 || entries > 0) {
+            names = map.names;
+            types = map.types;
+            values = map.values;
+            size = map.size;
+            resize(Math.max(size, entries));
+        }
+    }
+    
+    
+    @Override
+    public <U extends T> boolean containsKey(N name, Class<U> type) {
+        return index(name, type) != -1;
+    }
+    
+    @Override
+    public <U extends T> boolean containsValue(U value) {
+        return contains(value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U get(N name, Class<U> type) {
+        var index = index(name, type);
+        return index == -1 ? null : value(index);
+    }
+    
+    @Override
+    public <U extends T> U getOrDefault(N name, Class<U> type, U value) {
+        var index = index(name, type);
+        return fallback(index == -1 ? null : value(index), type, value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U put(N name, Class<U> type, U value) {
+        return insert(name, type, value);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U put(Key<N, U> key, U value) {
+        return insert(key.name, key.type, value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U remove(N name, Class<U> type) {
+        var index = index(name, type);
+        return index == -1 ? null : delete(index);
+    }
+    
+    
+    boolean contains(@Nullable Object value) {
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] != null && types[i] != REMOVED && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    int index(@Nullable Object name, @Nullable Class<?> type) {
+        if (size == 0 || type == null) {
+            return -1;
+        }
+        
+        var mask = types.length - 1;
+        for (int i = spread(Key.hash(name, type)) & mask; types[i] != null; i = (i + 1) & mask) {
+            if (types[i] == type && Objects.equals(names[i], name)) {
+                return i;
+            }
+        }
+        
+        return -1;
+    }
+    
+    // Values are only ever read under the key that they were inserted with
+    <U> U value(int index) {
+        return (U) values[index];
+    }
+    
+    <U> @Nullable U insert(@Nullable Object name, Class<?> type, @Nullable Object value) {
+        if (type == null) {
+            throw new NullPointerException("Null types are not permitted in a token map");
+        }
+        
+        // Replacing a value must not resize the tables since it is not a
+        // structural modification
+        var index = index(name, type);
+        if (index != -1) {
+            U old = value(index);
+            values[index] = value;
+            return old;
+        }
+        
+        if (types.length == 0) {
+            resize(Math.max(capacity, 1));
+            
+        } else if (4 * (used + 1) > 3 * types.length) {
+            resize(2 * size + 1);
+        }
+        
+        var mask = types.length - 1;
+        var i = spread(Key.hash(name, type)) & mask;
+        while (types[i] != null && types[i] != REMOVED) {
+            i = (i + 1) & mask;
+        }
+        
+        if (types[i] == null) {
+            used++;
+        }
+        
+        names[i] = name;
+        types[i] = type;
+        values[i] = value;
+        size++;
+        modifications++;
+        
+        return null;
+    }
+    
+    <U> @Nullable U delete(int index) {
+        U old = value(index);
+        names[index] = null;
+        types[index] = REMOVED;
+        values[index] = null;
+        size--;
+        modifications++;
+        
+        return old;
+    }
+    
+    void resize(int entries) {
+        var length = length(entries);
+        var names = this.names;
+        var types = this.types;
+        var values = this.values;
+        
+        this.names = new Object[length];
+        this.types = new Class<?>[length];
+        this.values = new Object[length];
+        used = size;
+        
+        var mask = length - 1;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] != null && types[i] != REMOVED) {
+                var j = spread(Key.hash(names[i], types[i])) & mask;
+                while (this.types[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                
+                this.names[j] = names[i];
+                this.types[j] = types[i];
+                this.values[j] = values[i];
+            }
+        }
+    }
+    
+    void compact() {
+        if (size == 0) {
+            names = NONE;
+            types = UNALLOCATED;
+            values = NONE;
+            used = 0;
+            
+        } else if (used != size || types.length != length(size)) {
+            resize(size);
+        }
+    }
+    
+    static <U> U fallback(@Nullable U item, Class<?> type, U value) {
+        if (item != null && Type.box(type).isInstance(item)) {
+            return item;
+            
+        } else {
+            return value;
+        }
+    }
+    
+    static int length(int entries) {
+        var minimum = (4 * entries + 2) / 3;
+        return minimum < 2 ? 2 : Integer.highestOneBit(minimum - 1) << 1;
+    }
+    
+    static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    
+    @Override
+    public Map<Key<N, ? extends T>, T> map() {
+        if (map == null) {
+            map = new Entries();
+        }
+        
+        return map;
+    }
+    
+    
+    static final class Removed {}
+    
+    
+    class Entries extends AbstractMap<Key<N, ? extends T>, T> {
+        
+        @Nullable EntrySet entries;
+        
+        
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Key<?, ?> && index(((Key<?, ?>) key).name, ((Key<?, ?>) key).type) != -1;
+        }
+        
+        @Override
+        public boolean containsValue(Object value) {
+            return contains(value);
+        }
+        
+        @Override
+        public @Nullable T get(Object key) {
+            if (!(key instanceof Key<?, ?>)) {
+                return null;
+            }
+            
+            var index = index(((Key<?, ?>) key).name, ((Key<?, ?>) key).type);
+            return index == -1 ? null : value(index);
+        }
+        
+        @Override
+        public @Nullable T put(Key<N, ? extends T> key, T value) {
+            return insert(key.name, key.type, value);
+        }
+        
+        @Override
+        public @Nullable T remove(Object key) {
+            if (!(key instanceof Key<?, ?>)) {
+                return null;
+            }
+            
+            var index = index(((Key<?, ?>) key).name, ((Key<?, ?>) key).type);
+            return index == -1 ? null : delete(index);
+        }
+        
+        @Override
+        public void clear() {
+            if (size > 0) {
+                Arrays.fill(names, null);
+                Arrays.fill(types, null);
+                Arrays.fill(values, null);
+                size = 0;
+                used = 0;
+                modifications++;
+            }
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+        @Override
+        public Set<Entry<Key<N, ? extends T>, T>> entrySet() {
+            if (entries == null) {
+                entries = new EntrySet();
+            }
+            
+            return entries;
+        }
+        
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<Key<N, ? extends T>, T>> {
+        
+        @Override
+        public Iterator<Entry<Key<N, ? extends T>, T>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+    }
+    
+    
+    class EntryIterator implements Iterator<Entry<Key<N, ? extends T>, T>> {
+        
+        int index = -1;
+        int next = advance(0);
+        int expectedModifications = modifications;
+        
+        
+        int advance(int index) {
+            while (index < types.length && (types[index] == null || types[index] == REMOVED)) {
+                index++;
+            }
+            
+            return index;
+        }
+        
+        
+        @Override
+        public boolean hasNext() {
+            return next < types.length;
+        }
+        
+        @Override
+        public Entry<Key<N, ? extends T>, T> next() {
+            if (expectedModifications != modifications) {
+                throw new ConcurrentModificationException();
+                
+            } else if (next >= types.length) {
+                throw new NoSuchElementException();
+            }
+            
+            index = next;
+            next = advance(next + 1);
+            return new Slot(index);
+        }
+        
+        @Override
+        public void remove() {
+            if (index == -1) {
+                throw new IllegalStateException();
+                
+            } else if (expectedModifications != modifications) {
+                throw new ConcurrentModificationException();
+            }
+            
+            delete(index);
+            index = -1;
+            expectedModifications = modifications;
+        }
+        
+    }
+    
+    
+    class Slot implements Entry<Key<N, ? extends T>, T> {
+        
+        final Key<N, ? extends T> key;
+        final int index;
+        
+        
+        Slot(int index) {
+            this.key = new Key<>((N) names[index], (Class<T>) types[index]);
+            this.index = index;
+        }
+        
+        
+        @Override
+        public Key<N, ? extends T> getKey() {
+            return key;
+        }
+        
+        @Override
+        public T getValue() {
+            return value(index);
+        }
+        
+        @Override
+        public T setValue(T value) {
+            T old = value(index);
+            values[index] = value;
+            return old;
+        }
+        
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Entry<?, ?>)) {
+                return false;
+            }
+            
+            var entry = (Entry<?, ?>) other;
+            return key.equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+        
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+        
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+        
+    }
+    
+}
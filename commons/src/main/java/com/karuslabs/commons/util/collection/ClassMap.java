@@ -45,6 +45,10 @@ public interface ClassMap<T> {
         return new ProxiedClassMap<>(map);
     }
     
+    public static <T> ClassMap<T> weak() {
+        return new ConcurrentWeakClassMap<>();
+    }
+    
     
     public default <U extends T> boolean containsKey(Class<U> type) {
         return map().containsKey(type);
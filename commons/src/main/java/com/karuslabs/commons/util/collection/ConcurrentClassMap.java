@@ -42,6 +42,10 @@ public interface ConcurrentClassMap<T> extends ClassMap<T> {
         return new ConcurrentProxiedClassMap<>(map);
     }
     
+    public static <T> ConcurrentClassMap<T> weak() {
+        return new ConcurrentWeakClassMap<>();
+    }
+    
     
     @Override
     public ConcurrentMap<Class<? extends T>, T> map();
@@ -64,6 +68,7 @@ class ConcurrentHashClassMap<T> extends ConcurrentHashMap<Class<? extends T>, T>
     
 }
 
+
 @Delegate class ConcurrentProxiedClassMap<T> implements ConcurrentClassMap<T> {
 
     private final ConcurrentMap<Class<? extends T>, T> map;
@@ -26,6 +26,9 @@ package com.karuslabs.commons.util.collection;
 import com.karuslabs.annotations.Delegate;
 import com.karuslabs.commons.util.collection.TokenMap.Key;
 
+import java.util.*;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
 import java.util.concurrent.*;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -45,25 +48,29 @@ public interface ConcurrentTokenMap<N, T> extends TokenMap<N, T> {
         return new ConcurrentProxiedTokenMap<>(map);
     }
     
+    public static <N, T> ConcurrentTokenMap<N, T> weak() {
+        return new ConcurrentWeakTokenMap<>();
+    }
+    
     
     @Override
     public default <U extends T> boolean containsKey(N name, Class<U> type) {
-        return map().containsKey(ThreadLocalKey.KEY.get().set(name, type));
+        return map().containsKey(TokenMap.key(name, type));
     }
     
     @Override
     public default <U extends T> @Nullable U get(N name, Class<U> type) {
-        return get((Key<N, U>) ThreadLocalKey.KEY.get().set(name, type));
+        return get(TokenMap.key(name, type));
     }
     
     @Override
     public default <U extends T> U getOrDefault(N name, Class<U> type, U value) {
-        return getOrDefault((Key<N, U>) ThreadLocalKey.KEY.get().set(name, type), value);
+        return getOrDefault(TokenMap.key(name, type), value);
     }
     
     @Override
     public default <U extends T> @Nullable U remove(N name, Class<U> type) {
-        return remove((Key<N, U>) ThreadLocalKey.KEY.get().set(name, type));
+        return remove(TokenMap.key(name, type));
     }
 
 
@@ -73,31 +80,383 @@ public interface ConcurrentTokenMap<N, T> extends TokenMap<N, T> {
 }
 
 
-class ThreadLocalKey extends ThreadLocal<Key<Object, Object>> {
+abstract class AbstractConcurrentTokenMap<N, T> implements ConcurrentTokenMap<N, T> {
+    
+    // Stands in for null names which ConcurrentHashMap does not permit
+    static final Object NULL = new Object();
+    
+    
+    static Object mask(@Nullable Object name) {
+        return name == null ? NULL : name;
+    }
+    
+    static <N> @Nullable N unmask(Object name) {
+        return name == NULL ? null : (N) name;
+    }
+    
+    
+    @Nullable View map;
+    
+    
+    @Override
+    public <U extends T> boolean containsKey(N name, Class<U> type) {
+        return contains(name, type);
+    }
+    
+    @Override
+    public <U extends T> boolean containsKey(Key<N, U> key) {
+        return contains(key.name, key.type);
+    }
+    
+    @Override
+    public <U extends T> boolean containsValue(U value) {
+        return contains(value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U get(N name, Class<U> type) {
+        return find(name, type);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U get(Key<N, U> key) {
+        return find(key.name, key.type);
+    }
+    
+    
+    @Override
+    public <U extends T> U getOrDefault(N name, Class<U> type, U value) {
+        return ArrayTokenMap.fallback(find(name, type), type, value);
+    }
+    
+    @Override
+    public <U extends T> U getOrDefault(Key<N, U> key, U value) {
+        return ArrayTokenMap.fallback(find(key.name, key.type), key.type, value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U put(N name, Class<U> type, U value) {
+        return (U) insert(type, mask(name), value, false);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U put(Key<N, U> key, U value) {
+        return (U) insert(key.type, mask(key.name), value, false);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U remove(N name, Class<U> type) {
+        return delete(name, type);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U remove(Key<N, U> key) {
+        return delete(key.name, key.type);
+    }
+    
+    
+    boolean contains(@Nullable Object name, Class<?> type) {
+        var names = lookup(type);
+        return names != null && names.containsKey(mask(name));
+    }
+    
+    boolean contains(@Nullable Object value) {
+        for (var table : tables()) {
+            if (table.getValue().containsValue(value)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    // Values are only ever read under the key that they were inserted with
+    <U> @Nullable U find(@Nullable Object name, Class<?> type) {
+        var names = lookup(type);
+        return names == null ? null : (U) names.get(mask(name));
+    }
     
-    static final ThreadLocalKey KEY = new ThreadLocalKey();
+    <U> @Nullable U delete(@Nullable Object name, Class<?> type) {
+        var names = lookup(type);
+        if (names == null) {
+            return null;
+        }
+        
+        var value = names.remove(mask(name));
+        if (value != null) {
+            prune(type, names);
+        }
+        
+        return (U) value;
+    }
+    
+    
+    abstract @Nullable ConcurrentHashMap<Object, T> lookup(Class<?> type);
+    
+    abstract @Nullable T insert(Class<?> type, Object name, T value, boolean absent);
+    
+    // Called after entries were removed from the given table
+    void prune(Class<?> type, ConcurrentHashMap<Object, T> names) {}
+    
+    abstract Iterable<Entry<Class<?>, ConcurrentHashMap<Object, T>>> tables();
     
     
     @Override
-    protected Key<Object, Object> initialValue() {
-        return TokenMap.key(null, null);
+    public ConcurrentMap<Key<N, ? extends T>, T> map() {
+        if (map == null) {
+            map = new View();
+        }
+        
+        return map;
+    }
+    
+    
+    class View extends AbstractMap<Key<N, ? extends T>, T> implements ConcurrentMap<Key<N, ? extends T>, T> {
+        
+        @Nullable EntrySet entries;
+        
+        
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Key<?, ?> && contains(((Key<?, ?>) key).name, ((Key<?, ?>) key).type);
+        }
+        
+        @Override
+        public boolean containsValue(Object value) {
+            return contains(value);
+        }
+        
+        @Override
+        public @Nullable T get(Object key) {
+            return key instanceof Key<?, ?> ? find(((Key<?, ?>) key).name, ((Key<?, ?>) key).type) : null;
+        }
+        
+        
+        @Override
+        public @Nullable T put(Key<N, ? extends T> key, T value) {
+            return insert(key.type, mask(key.name), value, false);
+        }
+        
+        @Override
+        public @Nullable T putIfAbsent(Key<N, ? extends T> key, T value) {
+            return insert(key.type, mask(key.name), value, true);
+        }
+        
+        
+        @Override
+        public @Nullable T remove(Object key) {
+            return key instanceof Key<?, ?> ? delete(((Key<?, ?>) key).name, ((Key<?, ?>) key).type) : null;
+        }
+        
+        @Override
+        public boolean remove(Object key, Object value) {
+            if (!(key instanceof Key<?, ?>)) {
+                return false;
+            }
+            
+            var type = ((Key<?, ?>) key).type;
+            var names = lookup(type);
+            if (names != null && names.remove(mask(((Key<?, ?>) key).name), value)) {
+                prune(type, names);
+                return true;
+            }
+            
+            return false;
+        }
+        
+        
+        @Override
+        public boolean replace(Key<N, ? extends T> key, T old, T value) {
+            var names = lookup(key.type);
+            return names != null && names.replace(mask(key.name), old, value);
+        }
+        
+        @Override
+        public @Nullable T replace(Key<N, ? extends T> key, T value) {
+            var names = lookup(key.type);
+            return names == null ? null : names.replace(mask(key.name), value);
+        }
+        
+        
+        @Override
+        public void clear() {
+            for (var table : tables()) {
+                table.getValue().clear();
+                prune(table.getKey(), table.getValue());
+            }
+        }
+        
+        @Override
+        public boolean isEmpty() {
+            for (var table : tables()) {
+                if (!table.getValue().isEmpty()) {
+                    return false;
+                }
+            }
+            
+            return true;
+        }
+        
+        @Override
+        public int size() {
+            long size = 0;
+            for (var table : tables()) {
+                size += table.getValue().mappingCount();
+            }
+            
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+        
+        @Override
+        public Set<Entry<Key<N, ? extends T>, T>> entrySet() {
+            if (entries == null) {
+                entries = new EntrySet();
+            }
+            
+            return entries;
+        }
+        
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<Key<N, ? extends T>, T>> {
+        
+        @Override
+        public Iterator<Entry<Key<N, ? extends T>, T>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return map().size();
+        }
+        
+    }
+    
+    
+    class EntryIterator implements Iterator<Entry<Key<N, ? extends T>, T>> {
+        
+        final Iterator<Entry<Class<?>, ConcurrentHashMap<Object, T>>> types = tables().iterator();
+        @Nullable Class<?> type;
+        @Nullable ConcurrentHashMap<Object, T> map;
+        Iterator<Entry<Object, T>> names = Collections.emptyIterator();
+        @Nullable Iterator<Entry<Object, T>> last;
+        
+        
+        @Override
+        public boolean hasNext() {
+            while (!names.hasNext() && types.hasNext()) {
+                var entry = types.next();
+                type = entry.getKey();
+                map = entry.getValue();
+                names = map.entrySet().iterator();
+            }
+            
+            return names.hasNext();
+        }
+        
+        @Override
+        public Entry<Key<N, ? extends T>, T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            last = names;
+            var entry = names.next();
+            return new Slot(new Key<>(unmask(entry.getKey()), (Class<T>) type), entry.getValue());
+        }
+        
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            
+            last.remove();
+            last = null;
+            prune(type, map);
+        }
+        
+    }
+    
+    
+    class Slot extends SimpleEntry<Key<N, ? extends T>, T> {
+        
+        Slot(Key<N, ? extends T> key, T value) {
+            super(key, value);
+        }
+        
+        
+        @Override
+        public T setValue(T value) {
+            insert(getKey().type, mask(getKey().name), value, false);
+            return super.setValue(value);
+        }
+        
     }
     
 }
 
 
-class ConcurrentHashTokenMap<N, T> extends ConcurrentHashMap<Key<N, ? extends T>, T> implements ConcurrentTokenMap<N, T> {
+class ConcurrentHashTokenMap<N, T> extends AbstractConcurrentTokenMap<N, T> {
+    
+    final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Object, T>> types;
+    
     
-    ConcurrentHashTokenMap() {}
+    ConcurrentHashTokenMap() {
+        types = new ConcurrentHashMap<>();
+    }
     
     ConcurrentHashTokenMap(int capacity) {
-        super(capacity);
+        types = new ConcurrentHashMap<>(capacity);
     }
     
     
     @Override
-    public ConcurrentMap<Key<N, ? extends T>, T> map() {
-        return this;
+    @Nullable ConcurrentHashMap<Object, T> lookup(Class<?> type) {
+        return types.get(type);
+    }
+    
+    // Values are replaced directly in a type's table. Insertions into a table are
+    // serialized with its removal once empty so that no insertion is lost in a
+    // table that was removed concurrently. Empty tables are removed so that
+    // types are not retained after their entries have been removed.
+    @Override
+    @Nullable T insert(Class<?> type, Object name, T value, boolean absent) {
+        var names = types.get(type);
+        if (names != null) {
+            var old = absent ? names.get(name) : names.replace(name, value);
+            if (old != null) {
+                return old;
+            }
+        }
+        
+        var old = new Object[1];
+        types.compute(type, (key, table) -> {
+            if (table == null) {
+                table = new ConcurrentHashMap<>();
+            }
+            
+            old[0] = absent ? table.putIfAbsent(name, value) : table.put(name, value);
+            return table;
+        });
+        
+        return (T) old[0];
+    }
+    
+    @Override
+    void prune(Class<?> type, ConcurrentHashMap<Object, T> names) {
+        if (names.isEmpty()) {
+            types.computeIfPresent(type, (key, table) -> table.isEmpty() ? null : table);
+        }
+    }
+    
+    @Override
+    Iterable<Entry<Class<?>, ConcurrentHashMap<Object, T>>> tables() {
+        return types.entrySet();
     }
     
 }
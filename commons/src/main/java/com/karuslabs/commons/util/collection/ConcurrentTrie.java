@@ -0,0 +1,480 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.annotations.ValueType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public class ConcurrentTrie<V> extends AbstractMap<String, V> implements ConcurrentMap<String, V>, PrefixMap<V> {
+    
+    final AtomicReference<Node<V>> root;
+    final boolean mutable;
+    
+    @Nullable EntrySet entries;
+    
+    
+    public ConcurrentTrie() {
+        this((Node<V>) Node.EMPTY, true);
+    }
+    
+    ConcurrentTrie(Node<V> root, boolean mutable) {
+        this.root = new AtomicReference<>(root);
+        this.mutable = mutable;
+    }
+    
+    
+    public ConcurrentTrie<V> snapshot() {
+        return new ConcurrentTrie<>(root.get(), true);
+    }
+    
+    public ConcurrentTrie<V> readOnlySnapshot() {
+        return mutable ? new ConcurrentTrie<>(root.get(), false) : this;
+    }
+    
+    
+    @Override
+    public Iterator<Entry<String, V>> prefixIterator(String prefix) {
+        return new EntryIterator(find(root.get(), prefix));
+    }
+    
+    @Override
+    public Set<Entry<String, V>> prefixEntries(String prefix) {
+        return prefixed(prefix, entry -> new SimpleImmutableEntry<>(entry.key, entry.value), new HashSet<>());
+    }
+    
+    @Override
+    public Set<String> prefixedKeys(String prefix) {
+        return prefixed(prefix, entry -> entry.key, new HashSet<>());
+    }
+    
+    @Override
+    public Collection<V> prefixedValues(String prefix) {
+        return prefixed(prefix, entry -> entry.value, new ArrayList<>());
+    }
+    
+    
+    <C extends Collection<T>, T> C prefixed(String prefix, Function<Node<V>, T> mapper, C collection) {
+        var node = find(root.get(), prefix);
+        if (node != null) {
+            map(node, mapper, collection);
+        }
+        
+        return collection;
+    }
+    
+    <C extends Collection<T>, T> void map(Node<V> node, Function<Node<V>, T> mapper, C collection) {
+        if (node.key != null) {
+            collection.add(mapper.apply(node));
+        }
+        
+        for (var child : node.children) {
+            map(child, mapper, collection);
+        }
+    }
+    
+    
+    @Override
+    public boolean containsValue(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not permitted in a concurrent trie");
+        }
+        
+        var iterator = new EntryIterator(root.get());
+        while (iterator.hasNext()) {
+            if (value.equals(iterator.nextNode().value)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+    
+    @Override
+    public @Nullable V get(Object key) {
+        var node = find(root.get(), key(key));
+        return node == null ? null : node.value;
+    }
+    
+    @Nullable Node<V> find(@Nullable Node<V> node, String key) {
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.get(key.charAt(i));
+        }
+        
+        return node;
+    }
+    
+    
+    @Override
+    public @Nullable V put(String key, V value) {
+        value(value);
+        return update(key, old -> value);
+    }
+    
+    @Override
+    public @Nullable V putIfAbsent(String key, V value) {
+        value(value);
+        return update(key, old -> old == null ? value : old);
+    }
+    
+    @Override
+    public void putAll(Map<? extends String, ? extends V> map) {
+        for (var entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    
+    @Override
+    public @Nullable V replace(String key, V value) {
+        value(value);
+        return update(key, old -> old == null ? null : value);
+    }
+    
+    @Override
+    public boolean replace(String key, V expected, V value) {
+        value(expected);
+        value(value);
+        return expected.equals(update(key, old -> expected.equals(old) ? value : old));
+    }
+    
+    
+    @Override
+    public @Nullable V remove(Object key) {
+        return update(key(key), old -> null);
+    }
+    
+    @Override
+    public boolean remove(Object key, Object value) {
+        return value != null && value.equals(update(key(key), old -> value.equals(old) ? null : old));
+    }
+    
+    
+    @Nullable V update(String key, UnaryOperator<V> function) {
+        if (!mutable) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+        
+        while (true) {
+            var current = root.get();
+            var node = find(current, key);
+            var old = node == null ? null : node.value;
+            var value = function.apply(old);
+            
+            if (value == old) {
+                return old;
+            }
+            
+            var updated = set(current, key, 0, value);
+            if (root.compareAndSet(current, updated == null ? (Node<V>) Node.EMPTY : updated)) {
+                return old;
+            }
+        }
+    }
+    
+    @Nullable Node<V> set(Node<V> node, String key, int depth, @Nullable V value) {
+        if (depth == key.length()) {
+            return value == null ? node.without() : node.with(key, value);
+        }
+        
+        var character = key.charAt(depth);
+        var child = node.get(character);
+        if (child == null) {
+            if (value == null) {
+                return node;
+            }
+            
+            child = (Node<V>) Node.EMPTY;
+        }
+        
+        return node.with(character, set(child, key, depth + 1, value));
+    }
+    
+    
+    String key(Object key) {
+        if (key == null) {
+            throw new NullPointerException("Null keys are not permitted in a trie");
+        }
+        
+        return (String) key;
+    }
+    
+    void value(Object value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not permitted in a concurrent trie");
+        }
+    }
+    
+    
+    @Override
+    public void clear() {
+        if (!mutable) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+        
+        root.set((Node<V>) Node.EMPTY);
+    }
+    
+    @Override
+    public int size() {
+        return root.get().size;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return root.get().size == 0;
+    }
+    
+    
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        if (entries == null) {
+            entries = new EntrySet();
+        }
+        
+        return entries;
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<String, V>> {
+        
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Entry<?, ?>)) {
+                return false;
+            }
+            
+            var entry = (Entry<?, ?>) object;
+            var value = entry.getKey() instanceof String ? get(entry.getKey()) : null;
+            return value != null && value.equals(entry.getValue());
+        }
+        
+        @Override
+        public boolean remove(Object object) {
+            if (!(object instanceof Entry<?, ?>)) {
+                return false;
+            }
+            
+            var entry = (Entry<?, ?>) object;
+            return entry.getKey() instanceof String && ConcurrentTrie.this.remove(entry.getKey(), entry.getValue());
+        }
+        
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator(root.get());
+        }
+        
+        @Override
+        public int size() {
+            return ConcurrentTrie.this.size();
+        }
+        
+    }
+    
+    
+    class EntryIterator implements Iterator<Entry<String, V>> {
+        
+        Deque<Node<V>> stack;
+        @Nullable Node<V> next;
+        @Nullable Node<V> returned;
+        
+        
+        EntryIterator(@Nullable Node<V> node) {
+            stack = new ArrayDeque<>();
+            if (node != null) {
+                stack.add(node);
+            }
+            
+            next = advance();
+        }
+        
+        
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+        
+        @Override
+        public Entry<String, V> next() {
+            var node = nextNode();
+            return new MapEntry(node.key, node.value);
+        }
+        
+        Node<V> nextNode() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            
+            returned = next;
+            next = advance();
+            return returned;
+        }
+        
+        @Nullable Node<V> advance() {
+            while (!stack.isEmpty()) {
+                var node = stack.pollLast();
+                for (int i = node.children.length - 1; i >= 0; i--) {
+                    stack.add(node.children[i]);
+                }
+                
+                if (node.key != null) {
+                    return node;
+                }
+            }
+            
+            return null;
+        }
+        
+        @Override
+        public void remove() {
+            if (returned == null) {
+                throw new IllegalStateException();
+            }
+            
+            ConcurrentTrie.this.remove(returned.key);
+            returned = null;
+        }
+        
+    }
+    
+    class MapEntry extends SimpleEntry<String, V> {
+        
+        MapEntry(String key, V value) {
+            super(key, value);
+        }
+        
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+        
+    }
+    
+    
+    static final @ValueType class Node<V> {
+        
+        static final char[] CHARACTERS = new char[0];
+        static final Node<?>[] NONE = new Node<?>[0];
+        static final Node<?> EMPTY = new Node<>(CHARACTERS, (Node<Object>[]) NONE, null, null, 0);
+        
+        
+        final char[] characters;
+        final Node<V>[] children;
+        final @Nullable String key;
+        final @Nullable V value;
+        final int size;
+        
+        
+        Node(char[] characters, Node<V>[] children, @Nullable String key, @Nullable V value, int size) {
+            this.characters = characters;
+            this.children = children;
+            this.key = key;
+            this.value = value;
+            this.size = size;
+        }
+        
+        
+        @Nullable Node<V> get(char character) {
+            var index = Arrays.binarySearch(characters, character);
+            return index < 0 ? null : children[index];
+        }
+        
+        
+        Node<V> with(String key, V value) {
+            return new Node<>(characters, children, key, value, this.key == null ? size + 1 : size);
+        }
+        
+        @Nullable Node<V> without() {
+            if (key == null) {
+                return this;
+                
+            } else if (children.length == 0) {
+                return null;
+                
+            } else {
+                return new Node<>(characters, children, null, null, size - 1);
+            }
+        }
+        
+        @Nullable Node<V> with(char character, @Nullable Node<V> child) {
+            var index = Arrays.binarySearch(characters, character);
+            if (index >= 0 && child == children[index]) {
+                return this;
+            }
+            
+            char[] characters;
+            Node<V>[] children;
+            int size = this.size;
+            
+            if (index >= 0 && child != null) {
+                characters = this.characters;
+                children = this.children.clone();
+                children[index] = child;
+                size += child.size - this.children[index].size;
+                
+            } else if (index >= 0) {
+                if (key == null && this.children.length == 1) {
+                    return null;
+                }
+                
+                characters = new char[this.characters.length - 1];
+                System.arraycopy(this.characters, 0, characters, 0, index);
+                System.arraycopy(this.characters, index + 1, characters, index, characters.length - index);
+                
+                children = Arrays.copyOf(this.children, this.children.length - 1);
+                System.arraycopy(this.children, index + 1, children, index, children.length - index);
+                size -= this.children[index].size;
+                
+            } else {
+                index = -(index + 1);
+                
+                characters = new char[this.characters.length + 1];
+                System.arraycopy(this.characters, 0, characters, 0, index);
+                System.arraycopy(this.characters, index, characters, index + 1, this.characters.length - index);
+                characters[index] = character;
+                
+                children = Arrays.copyOf(this.children, this.children.length + 1);
+                System.arraycopy(this.children, index, children, index + 1, this.children.length - index);
+                children[index] = child;
+                size += child.size;
+            }
+            
+            return new Node<>(characters, children, key, value, size);
+        }
+        
+    }
+    
+}
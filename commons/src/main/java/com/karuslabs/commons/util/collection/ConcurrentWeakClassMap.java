@@ -0,0 +1,297 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.*;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+import java.util.concurrent.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+// Values are stored in a ClassValue so that they are reachable only through
+// their class. An entry, and a value which references its class, can therefore
+// be collected together with the class's loader.
+class ConcurrentWeakClassMap<T> implements ConcurrentClassMap<T> {
+    
+    final ReferenceQueue<Class<?>> queue;
+    final Set<ClassReference> references;
+    final Slots slots;
+    @Nullable View map;
+    
+    
+    ConcurrentWeakClassMap() {
+        queue = new ReferenceQueue<>();
+        references = ConcurrentHashMap.newKeySet();
+        slots = new Slots();
+    }
+    
+    
+    @Override
+    public ConcurrentMap<Class<? extends T>, T> map() {
+        if (map == null) {
+            map = new View();
+        }
+        
+        return map;
+    }
+    
+    
+    class Slots extends ClassValue<Slot<T>> {
+        
+        @Override
+        protected Slot<T> computeValue(Class<?> type) {
+            return new Slot<>(new ClassReference(type, queue));
+        }
+        
+    }
+    
+    // A null value marks an absent entry since null values are not permitted
+    static class Slot<T> {
+        
+        final ClassReference reference;
+        volatile @Nullable T value;
+        
+        Slot(ClassReference reference) {
+            this.reference = reference;
+        }
+        
+    }
+    
+    
+    class View extends AbstractMap<Class<? extends T>, T> implements ConcurrentMap<Class<? extends T>, T> {
+        
+        @Nullable EntrySet entries;
+        
+        
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Class<?> && slots.get((Class<?>) key).value != null;
+        }
+        
+        @Override
+        public @Nullable T get(Object key) {
+            if (!(key instanceof Class<?>)) {
+                return null;
+            }
+            
+            return slots.get((Class<?>) key).value;
+        }
+        
+        
+        @Override
+        public @Nullable T put(Class<? extends T> key, T value) {
+            return set(key, value, true);
+        }
+        
+        @Override
+        public @Nullable T putIfAbsent(Class<? extends T> key, T value) {
+            return set(key, value, false);
+        }
+        
+        @Nullable T set(Class<? extends T> key, T value, boolean replace) {
+            Objects.requireNonNull(value);
+            ClassReference.expunge(queue, references);
+            
+            var slot = slots.get(key);
+            synchronized (slot) {
+                var old = slot.value;
+                if (old == null) {
+                    slot.value = value;
+                    references.add(slot.reference);
+                    
+                } else if (replace) {
+                    slot.value = value;
+                }
+                
+                return old;
+            }
+        }
+        
+        
+        @Override
+        public @Nullable T replace(Class<? extends T> key, T value) {
+            Objects.requireNonNull(value);
+            
+            var slot = slots.get(key);
+            synchronized (slot) {
+                var old = slot.value;
+                if (old != null) {
+                    slot.value = value;
+                }
+                
+                return old;
+            }
+        }
+        
+        @Override
+        public boolean replace(Class<? extends T> key, T old, T value) {
+            Objects.requireNonNull(value);
+            
+            var slot = slots.get(key);
+            synchronized (slot) {
+                if (slot.value == null || !slot.value.equals(old)) {
+                    return false;
+                }
+                
+                slot.value = value;
+                return true;
+            }
+        }
+        
+        
+        @Override
+        public @Nullable T remove(Object key) {
+            if (!(key instanceof Class<?>)) {
+                return null;
+            }
+            
+            var slot = slots.get((Class<?>) key);
+            synchronized (slot) {
+                var old = slot.value;
+                if (old != null) {
+                    slot.value = null;
+                    references.remove(slot.reference);
+                }
+                
+                return old;
+            }
+        }
+        
+        @Override
+        public boolean remove(Object key, Object value) {
+            if (!(key instanceof Class<?>)) {
+                return false;
+            }
+            
+            var slot = slots.get((Class<?>) key);
+            synchronized (slot) {
+                if (slot.value == null || !slot.value.equals(value)) {
+                    return false;
+                }
+                
+                slot.value = null;
+                references.remove(slot.reference);
+                return true;
+            }
+        }
+        
+        
+        @Override
+        public int size() {
+            ClassReference.expunge(queue, references);
+            return references.size();
+        }
+        
+        @Override
+        public Set<Entry<Class<? extends T>, T>> entrySet() {
+            if (entries == null) {
+                entries = new EntrySet();
+            }
+            
+            return entries;
+        }
+        
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<Class<? extends T>, T>> {
+        
+        @Override
+        public Iterator<Entry<Class<? extends T>, T>> iterator() {
+            ClassReference.expunge(queue, references);
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return map().size();
+        }
+        
+    }
+    
+    
+    class EntryIterator implements Iterator<Entry<Class<? extends T>, T>> {
+        
+        final Iterator<ClassReference> references = ConcurrentWeakClassMap.this.references.iterator();
+        @Nullable Entry<Class<? extends T>, T> next;
+        @Nullable Entry<Class<? extends T>, T> last;
+        
+        
+        @Override
+        public boolean hasNext() {
+            while (next == null && references.hasNext()) {
+                var type = references.next().get();
+                if (type != null) {
+                    var value = slots.get(type).value;
+                    if (value != null) {
+                        next = new Mapping((Class<? extends T>) type, value);
+                    }
+                }
+            }
+            
+            return next != null;
+        }
+        
+        @Override
+        public Entry<Class<? extends T>, T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            last = next;
+            next = null;
+            return last;
+        }
+        
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            
+            map().remove(last.getKey());
+            last = null;
+        }
+        
+    }
+    
+    
+    class Mapping extends SimpleEntry<Class<? extends T>, T> {
+        
+        Mapping(Class<? extends T> type, T value) {
+            super(type, value);
+        }
+        
+        @Override
+        public T setValue(T value) {
+            map().put(getKey(), value);
+            return super.setValue(value);
+        }
+        
+    }
+    
+}
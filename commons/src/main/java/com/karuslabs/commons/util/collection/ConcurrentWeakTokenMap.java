@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.lang.ref.ReferenceQueue;
+import java.util.*;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+import java.util.concurrent.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+// Names are stored in a ClassValue so that they are reachable only through
+// their type, see ConcurrentWeakClassMap.
+class ConcurrentWeakTokenMap<N, T> extends AbstractConcurrentTokenMap<N, T> {
+    
+    final ReferenceQueue<Class<?>> queue;
+    final Set<ClassReference> references;
+    final Tables tables;
+    
+    
+    ConcurrentWeakTokenMap() {
+        queue = new ReferenceQueue<>();
+        references = ConcurrentHashMap.newKeySet();
+        tables = new Tables();
+    }
+    
+    
+    @Override
+    @Nullable ConcurrentHashMap<Object, T> lookup(Class<?> type) {
+        return tables.get(type);
+    }
+    
+    @Override
+    @Nullable T insert(Class<?> type, Object name, T value, boolean absent) {
+        ClassReference.expunge(queue, references);
+        
+        var names = tables.get(type);
+        references.add(names.reference);
+        return absent ? names.putIfAbsent(name, value) : names.put(name, value);
+    }
+    
+    @Override
+    Iterable<Entry<Class<?>, ConcurrentHashMap<Object, T>>> tables() {
+        ClassReference.expunge(queue, references);
+        
+        var tables = new ArrayList<Entry<Class<?>, ConcurrentHashMap<Object, T>>>(references.size());
+        for (var reference : references) {
+            var type = reference.get();
+            if (type != null) {
+                tables.add(new SimpleEntry<>(type, this.tables.get(type)));
+            }
+        }
+        
+        return tables;
+    }
+    
+    
+    class Tables extends ClassValue<Names<T>> {
+        
+        @Override
+        protected Names<T> computeValue(Class<?> type) {
+            return new Names<>(new ClassReference(type, queue));
+        }
+        
+    }
+    
+    static class Names<T> extends ConcurrentHashMap<Object, T> {
+        
+        final ClassReference reference;
+        
+        Names(ClassReference reference) {
+            this.reference = reference;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,330 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+// The snapshot is an ArrayTokenMap in which every name is null, see
+// CopyOnWriteTokenMap.
+public class CopyOnWriteClassMap<T> implements ConcurrentClassMap<T> {
+    
+    volatile ArrayTokenMap<Object, T> snapshot;
+    @Nullable View map;
+    
+    
+    public CopyOnWriteClassMap() {
+        snapshot = new ArrayTokenMap<>(0);
+    }
+    
+    public CopyOnWriteClassMap(ClassMap<? extends T> map) {
+        this.snapshot = snapshot(map.map());
+    }
+    
+    
+    public synchronized void mutate(Consumer<? super ClassMap<T>> mutation) {
+        var copy = ClassMap.<T>of(snapshot.size);
+        for (var entry : map().entrySet()) {
+            copy.map().put(entry.getKey(), entry.getValue());
+        }
+        
+        mutation.accept(copy);
+        snapshot = snapshot(copy.map());
+    }
+    
+    static <T> ArrayTokenMap<Object, T> snapshot(Map<? extends Class<?>, ?> map) {
+        var snapshot = new ArrayTokenMap<Object, T>(map.size());
+        for (var entry : map.entrySet()) {
+            snapshot.insert(null, entry.getKey(), Objects.requireNonNull(entry.getValue(), "Null values are not permitted in a copy-on-write class map"));
+        }
+        
+        snapshot.compact();
+        return snapshot;
+    }
+    
+    
+    @Override
+    public <U extends T> boolean containsKey(Class<U> type) {
+        return snapshot.index(null, type) != -1;
+    }
+    
+    @Override
+    public <U extends T> boolean containsValue(@Nullable U value) {
+        return snapshot.contains(value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U get(Class<U> type) {
+        return find(type);
+    }
+    
+    @Override
+    public <U extends T> U getOrDefault(Class<U> type, U value) {
+        return ArrayTokenMap.fallback(find(type), type, value);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U put(Class<U> type, U value) {
+        return set(type, value, true);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U remove(Class<U> type) {
+        return unset(type);
+    }
+    
+    
+    <U> @Nullable U find(@Nullable Class<?> type) {
+        var snapshot = this.snapshot;
+        var index = snapshot.index(null, type);
+        return index == -1 ? null : snapshot.value(index);
+    }
+    
+    synchronized <U> @Nullable U set(Class<?> type, Object value, boolean replace) {
+        Objects.requireNonNull(value);
+        U old = find(type);
+        if (old != null && !replace) {
+            return old;
+        }
+        
+        var copy = new ArrayTokenMap<>(snapshot, snapshot.size + 1);
+        copy.insert(null, type, value);
+        snapshot = copy;
+        
+        return old;
+    }
+    
+    synchronized <U> @Nullable U unset(Class<?> type) {
+        U old = find(type);
+        if (old == null) {
+            return null;
+        }
+        
+        var copy = new ArrayTokenMap<>(snapshot, 0);
+        copy.delete(copy.index(null, type));
+        copy.compact();
+        snapshot = copy;
+        
+        return old;
+    }
+    
+    
+    @Override
+    public ConcurrentMap<Class<? extends T>, T> map() {
+        if (map == null) {
+            map = new View();
+        }
+        
+        return map;
+    }
+    
+    
+    class View extends AbstractMap<Class<? extends T>, T> implements ConcurrentMap<Class<? extends T>, T> {
+        
+        @Nullable EntrySet entries;
+        
+        
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Class<?> && snapshot.index(null, (Class<?>) key) != -1;
+        }
+        
+        @Override
+        public boolean containsValue(Object value) {
+            return snapshot.contains(value);
+        }
+        
+        @Override
+        public @Nullable T get(Object key) {
+            return key instanceof Class<?> ? find((Class<?>) key) : null;
+        }
+        
+        
+        @Override
+        public @Nullable T put(Class<? extends T> key, T value) {
+            return set(key, value, true);
+        }
+        
+        @Override
+        public @Nullable T putIfAbsent(Class<? extends T> key, T value) {
+            return set(key, value, false);
+        }
+        
+        
+        @Override
+        public @Nullable T remove(Object key) {
+            return key instanceof Class<?> ? unset((Class<?>) key) : null;
+        }
+        
+        @Override
+        public boolean remove(Object key, Object value) {
+            if (!(key instanceof Class<?>)) {
+                return false;
+            }
+            
+            synchronized (CopyOnWriteClassMap.this) {
+                Object old = find((Class<?>) key);
+                if (old == null || !old.equals(value)) {
+                    return false;
+                }
+                
+                unset((Class<?>) key);
+                return true;
+            }
+        }
+        
+        
+        @Override
+        public boolean replace(Class<? extends T> key, T old, T value) {
+            Objects.requireNonNull(value);
+            synchronized (CopyOnWriteClassMap.this) {
+                Object current = find(key);
+                if (current == null || !current.equals(old)) {
+                    return false;
+                }
+                
+                set(key, value, true);
+                return true;
+            }
+        }
+        
+        @Override
+        public @Nullable T replace(Class<? extends T> key, T value) {
+            Objects.requireNonNull(value);
+            synchronized (CopyOnWriteClassMap.this) {
+                return find(key) == null ? null : set(key, value, true);
+            }
+        }
+        
+        
+        @Override
+        public void clear() {
+            synchronized (CopyOnWriteClassMap.this) {
+                snapshot = new ArrayTokenMap<>(0);
+            }
+        }
+        
+        @Override
+        public int size() {
+            return snapshot.size;
+        }
+        
+        @Override
+        public Set<Entry<Class<? extends T>, T>> entrySet() {
+            if (entries == null) {
+                entries = new EntrySet();
+            }
+            
+            return entries;
+        }
+        
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<Class<? extends T>, T>> {
+        
+        @Override
+        public Iterator<Entry<Class<? extends T>, T>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return snapshot.size;
+        }
+        
+    }
+    
+    
+    // Iterates over the snapshot at the time of creation
+    class EntryIterator implements Iterator<Entry<Class<? extends T>, T>> {
+        
+        final ArrayTokenMap<Object, T> snapshot = CopyOnWriteClassMap.this.snapshot;
+        int index = advance(0);
+        @Nullable Class<? extends T> last;
+        
+        
+        int advance(int index) {
+            var types = snapshot.types;
+            while (index < types.length && (types[index] == null || types[index] == ArrayTokenMap.REMOVED)) {
+                index++;
+            }
+            
+            return index;
+        }
+        
+        
+        @Override
+        public boolean hasNext() {
+            return index < snapshot.types.length;
+        }
+        
+        @Override
+        public Entry<Class<? extends T>, T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            last = (Class<? extends T>) snapshot.types[index];
+            T value = snapshot.value(index);
+            index = advance(index + 1);
+            
+            return new Mapping(last, value);
+        }
+        
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            
+            unset(last);
+            last = null;
+        }
+        
+    }
+    
+    
+    class Mapping extends SimpleEntry<Class<? extends T>, T> {
+        
+        Mapping(Class<? extends T> key, T value) {
+            super(key, value);
+        }
+        
+        @Override
+        public T setValue(T value) {
+            set(getKey(), value, true);
+            return super.setValue(value);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,365 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.collection.TokenMap.Key;
+
+import java.util.*;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+// Reads probe an immutable snapshot published through a volatile field without
+// locking. Writes copy the snapshot, apply their changes and publish the copy.
+public class CopyOnWriteTokenMap<N, T> implements ConcurrentTokenMap<N, T> {
+    
+    volatile ArrayTokenMap<N, T> snapshot;
+    @Nullable View map;
+    
+    
+    public CopyOnWriteTokenMap() {
+        snapshot = new ArrayTokenMap<>(0);
+    }
+    
+    public CopyOnWriteTokenMap(TokenMap<N, ? extends T> map) {
+        var snapshot = new ArrayTokenMap<N, T>(map.map().size());
+        for (var entry : map.map().entrySet()) {
+            snapshot.insert(entry.getKey().name, entry.getKey().type, entry.getValue());
+        }
+        
+        this.snapshot = publishable(snapshot);
+    }
+    
+    
+    public synchronized void mutate(Consumer<? super TokenMap<N, T>> mutation) {
+        var copy = new ArrayTokenMap<>(snapshot, 0);
+        mutation.accept(copy);
+        // The mutation may retain the copy, so a separate copy is published
+        snapshot = publishable(new ArrayTokenMap<>(copy, 0));
+    }
+    
+    static <N, T> ArrayTokenMap<N, T> publishable(ArrayTokenMap<N, T> map) {
+        for (int i = 0; i < map.types.length; i++) {
+            if (map.types[i] != null && map.types[i] != ArrayTokenMap.REMOVED && map.values[i] == null) {
+                throw new NullPointerException("Null values are not permitted in a copy-on-write token map");
+            }
+        }
+        
+        map.compact();
+        return map;
+    }
+    
+    
+    @Override
+    public <U extends T> boolean containsKey(N name, Class<U> type) {
+        return snapshot.index(name, type) != -1;
+    }
+    
+    @Override
+    public <U extends T> boolean containsKey(Key<N, U> key) {
+        return snapshot.index(key.name, key.type) != -1;
+    }
+    
+    @Override
+    public <U extends T> boolean containsValue(U value) {
+        return snapshot.contains(value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U get(N name, Class<U> type) {
+        return find(name, type);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U get(Key<N, U> key) {
+        return find(key.name, key.type);
+    }
+    
+    
+    @Override
+    public <U extends T> U getOrDefault(N name, Class<U> type, U value) {
+        return ArrayTokenMap.fallback(find(name, type), type, value);
+    }
+    
+    @Override
+    public <U extends T> U getOrDefault(Key<N, U> key, U value) {
+        return ArrayTokenMap.fallback(find(key.name, key.type), key.type, value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U put(N name, Class<U> type, U value) {
+        return set(name, type, value, true);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U put(Key<N, U> key, U value) {
+        return set(key.name, key.type, value, true);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U remove(N name, Class<U> type) {
+        return unset(name, type);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U remove(Key<N, U> key) {
+        return unset(key.name, key.type);
+    }
+    
+    
+    <U> @Nullable U find(@Nullable Object name, @Nullable Class<?> type) {
+        var snapshot = this.snapshot;
+        var index = snapshot.index(name, type);
+        return index == -1 ? null : snapshot.value(index);
+    }
+    
+    synchronized <U> @Nullable U set(@Nullable Object name, Class<?> type, Object value, boolean replace) {
+        Objects.requireNonNull(value);
+        U old = find(name, type);
+        if (old != null && !replace) {
+            return old;
+        }
+        
+        var copy = new ArrayTokenMap<>(snapshot, snapshot.size + 1);
+        copy.insert(name, type, value);
+        snapshot = copy;
+        
+        return old;
+    }
+    
+    synchronized <U> @Nullable U unset(@Nullable Object name, Class<?> type) {
+        U old = find(name, type);
+        if (old == null) {
+            return null;
+        }
+        
+        var copy = new ArrayTokenMap<>(snapshot, 0);
+        copy.delete(copy.index(name, type));
+        copy.compact();
+        snapshot = copy;
+        
+        return old;
+    }
+    
+    
+    @Override
+    public ConcurrentMap<Key<N, ? extends T>, T> map() {
+        if (map == null) {
+            map = new View();
+        }
+        
+        return map;
+    }
+    
+    
+    class View extends AbstractMap<Key<N, ? extends T>, T> implements ConcurrentMap<Key<N, ? extends T>, T> {
+        
+        @Nullable EntrySet entries;
+        
+        
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Key<?, ?> && snapshot.index(((Key<?, ?>) key).name, ((Key<?, ?>) key).type) != -1;
+        }
+        
+        @Override
+        public boolean containsValue(Object value) {
+            return snapshot.contains(value);
+        }
+        
+        @Override
+        public @Nullable T get(Object key) {
+            return key instanceof Key<?, ?> ? find(((Key<?, ?>) key).name, ((Key<?, ?>) key).type) : null;
+        }
+        
+        
+        @Override
+        public @Nullable T put(Key<N, ? extends T> key, T value) {
+            return set(key.name, key.type, value, true);
+        }
+        
+        @Override
+        public @Nullable T putIfAbsent(Key<N, ? extends T> key, T value) {
+            return set(key.name, key.type, value, false);
+        }
+        
+        
+        @Override
+        public @Nullable T remove(Object key) {
+            return key instanceof Key<?, ?> ? unset(((Key<?, ?>) key).name, ((Key<?, ?>) key).type) : null;
+        }
+        
+        @Override
+        public boolean remove(Object key, Object value) {
+            if (!(key instanceof Key<?, ?>)) {
+                return false;
+            }
+            
+            var name = ((Key<?, ?>) key).name;
+            var type = ((Key<?, ?>) key).type;
+            synchronized (CopyOnWriteTokenMap.this) {
+                Object old = find(name, type);
+                if (old == null || !old.equals(value)) {
+                    return false;
+                }
+                
+                unset(name, type);
+                return true;
+            }
+        }
+        
+        
+        @Override
+        public boolean replace(Key<N, ? extends T> key, T old, T value) {
+            Objects.requireNonNull(value);
+            synchronized (CopyOnWriteTokenMap.this) {
+                Object current = find(key.name, key.type);
+                if (current == null || !current.equals(old)) {
+                    return false;
+                }
+                
+                set(key.name, key.type, value, true);
+                return true;
+            }
+        }
+        
+        @Override
+        public @Nullable T replace(Key<N, ? extends T> key, T value) {
+            Objects.requireNonNull(value);
+            synchronized (CopyOnWriteTokenMap.this) {
+                return find(key.name, key.type) == null ? null : set(key.name, key.type, value, true);
+            }
+        }
+        
+        
+        @Override
+        public void clear() {
+            synchronized (CopyOnWriteTokenMap.this) {
+                snapshot = new ArrayTokenMap<>(0);
+            }
+        }
+        
+        @Override
+        public int size() {
+            return snapshot.size;
+        }
+        
+        @Override
+        public Set<Entry<Key<N, ? extends T>, T>> entrySet() {
+            if (entries == null) {
+                entries = new EntrySet();
+            }
+            
+            return entries;
+        }
+        
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<Key<N, ? extends T>, T>> {
+        
+        @Override
+        public Iterator<Entry<Key<N, ? extends T>, T>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return snapshot.size;
+        }
+        
+    }
+    
+    
+    // Iterates over the snapshot at the time of creation
+    class EntryIterator implements Iterator<Entry<Key<N, ? extends T>, T>> {
+        
+        final ArrayTokenMap<N, T> snapshot = CopyOnWriteTokenMap.this.snapshot;
+        int index = advance(0);
+        @Nullable Key<N, ? extends T> last;
+        
+        
+        int advance(int index) {
+            var types = snapshot.types;
+            while (index < types.length && (types[index] == null || types[index] == ArrayTokenMap.REMOVED)) {
+                index++;
+            }
+            
+            return index;
+        }
+        
+        
+        @Override
+        public boolean hasNext() {
+            return index < snapshot.types.length;
+        }
+        
+        @Override
+        public Entry<Key<N, ? extends T>, T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            last = new Key<>((N) snapshot.names[index], (Class<T>) snapshot.types[index]);
+            T value = snapshot.value(index);
+            index = advance(index + 1);
+            
+            return new Mapping(last, value);
+        }
+        
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            
+            unset(last.name, last.type);
+            last = null;
+        }
+        
+    }
+    
+    
+    class Mapping extends SimpleEntry<Key<N, ? extends T>, T> {
+        
+        Mapping(Key<N, ? extends T> key, T value) {
+            super(key, value);
+        }
+        
+        @Override
+        public T setValue(T value) {
+            set(getKey().name, getKey().type, value, true);
+            return super.setValue(value);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,253 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.Type;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public class HierarchicalClassMap<T> implements ClassMap<T> {
+    
+    final Map<Class<? extends T>, T> map;
+    final Resolutions<T> resolutions;
+    int generation;
+    @Nullable Entries entries;
+    
+    
+    public HierarchicalClassMap() {
+        this(new HashMap<>());
+    }
+    
+    public HierarchicalClassMap(int capacity) {
+        this(new HashMap<>(capacity));
+    }
+    
+    HierarchicalClassMap(Map<Class<? extends T>, T> map) {
+        this.map = map;
+        this.resolutions = new Resolutions<>();
+        this.generation = 0;
+    }
+    
+    
+    public @Nullable T find(Class<?> type) {
+        var key = resolve(type);
+        return key == null ? null : map.get(key);
+    }
+    
+    public @Nullable Class<? extends T> resolve(Class<?> type) {
+        var resolution = resolutions.get(type);
+        if (resolution.generation != generation) {
+            resolution.key = closest(type);
+            resolution.generation = generation;
+        }
+        
+        return resolution.key;
+    }
+    
+    // Searches the hierarchy breadth-first so that the nearest registered
+    // supertype wins, superclasses before interfaces at the same distance.
+    @Nullable Class<? extends T> closest(Class<?> type) {
+        var visited = new HashSet<Class<?>>();
+        var level = List.<Class<?>>of(type);
+        while (!level.isEmpty()) {
+            var next = new ArrayList<Class<?>>();
+            for (var current : level) {
+                if (map.containsKey(current)) {
+                    return (Class<? extends T>) current;
+                }
+                
+                var superclass = current.getSuperclass();
+                if (superclass != null && visited.add(superclass)) {
+                    next.add(superclass);
+                }
+                
+                for (var implemented : current.getInterfaces()) {
+                    if (visited.add(implemented)) {
+                        next.add(implemented);
+                    }
+                }
+            }
+            
+            level = next;
+        }
+        
+        return null;
+    }
+    
+    
+    @Override
+    public <U extends T> U getOrDefault(Class<U> type, U value) {
+        var item = map.get(type);
+        if (item != null && (type.isPrimitive() ? Type.box(type) : type).isInstance(item)) {
+            return (U) item;
+            
+        } else {
+            return value;
+        }
+    }
+    
+    
+    @Override
+    public Map<Class<? extends T>, T> map() {
+        if (entries == null) {
+            entries = new Entries();
+        }
+        
+        return entries;
+    }
+    
+    
+    static class Resolutions<T> extends ClassValue<Resolution<T>> {
+        
+        @Override
+        protected Resolution<T> computeValue(Class<?> type) {
+            return new Resolution<>();
+        }
+        
+    }
+    
+    static class Resolution<T> {
+        
+        int generation = -1;
+        @Nullable Class<? extends T> key;
+        
+    }
+    
+    
+    // Invalidates cached resolutions whenever a key is added or removed
+    class Entries extends AbstractMap<Class<? extends T>, T> {
+        
+        @Nullable EntrySet entries;
+        
+        
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+        
+        @Override
+        public boolean containsValue(Object value) {
+            return map.containsValue(value);
+        }
+        
+        @Override
+        public @Nullable T get(Object key) {
+            return map.get(key);
+        }
+        
+        @Override
+        public @Nullable T put(Class<? extends T> key, T value) {
+            var size = map.size();
+            var old = map.put(key, value);
+            if (size != map.size()) {
+                generation++;
+            }
+            
+            return old;
+        }
+        
+        @Override
+        public @Nullable T remove(Object key) {
+            var size = map.size();
+            var old = map.remove(key);
+            if (size != map.size()) {
+                generation++;
+            }
+            
+            return old;
+        }
+        
+        @Override
+        public void clear() {
+            if (!map.isEmpty()) {
+                map.clear();
+                generation++;
+            }
+        }
+        
+        @Override
+        public int size() {
+            return map.size();
+        }
+        
+        @Override
+        public Set<Entry<Class<? extends T>, T>> entrySet() {
+            if (entries == null) {
+                entries = new EntrySet();
+            }
+            
+            return entries;
+        }
+        
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<Class<? extends T>, T>> {
+        
+        @Override
+        public Iterator<Entry<Class<? extends T>, T>> iterator() {
+            return new EntryIterator(map.entrySet().iterator());
+        }
+        
+        @Override
+        public int size() {
+            return map.size();
+        }
+        
+    }
+    
+    
+    class EntryIterator implements Iterator<Entry<Class<? extends T>, T>> {
+        
+        final Iterator<Entry<Class<? extends T>, T>> iterator;
+        
+        
+        EntryIterator(Iterator<Entry<Class<? extends T>, T>> iterator) {
+            this.iterator = iterator;
+        }
+        
+        
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Entry<Class<? extends T>, T> next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            iterator.remove();
+            generation++;
+        }
+        
+    }
+    
+}
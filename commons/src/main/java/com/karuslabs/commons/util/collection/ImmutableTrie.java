@@ -0,0 +1,576 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.annotations.Immutable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public final @Immutable class ImmutableTrie<V> extends AbstractMap<String, V> implements PrefixMap<V> {
+    
+    static final ImmutableTrie<?> EMPTY = new ImmutableTrie<>(new String[0], new Object[0]);
+    
+    
+    public static <V> ImmutableTrie<V> of() {
+        return (ImmutableTrie<V>) EMPTY;
+    }
+    
+    public static <V> ImmutableTrie<V> copyOf(Map<String, ? extends V> map) {
+        if (map instanceof ImmutableTrie<?>) {
+            return (ImmutableTrie<V>) map;
+        }
+        
+        var entries = new ArrayList<Entry<String, ? extends V>>(map.entrySet());
+        for (var entry : entries) {
+            if (entry.getKey() == null) {
+                throw new NullPointerException("Null keys are not permitted in a trie");
+            }
+        }
+        
+        entries.sort((a, b) -> a.getKey().compareTo(b.getKey()));
+        
+        var keys = new String[entries.size()];
+        var values = new Object[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).getKey();
+            values[i] = entries.get(i).getValue();
+        }
+        
+        return new ImmutableTrie<>(keys, values);
+    }
+    
+    
+    final String[] keys;
+    final Object[] values;
+    
+    final char[] characters;
+    final int[] children;
+    final int[] low;
+    final int[] high;
+    
+    
+    ImmutableTrie(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        
+        int capacity = 1;
+        for (var key : keys) {
+            capacity += key.length();
+        }
+        
+        var characters = new char[capacity];
+        var children = new int[capacity + 1];
+        var low = new int[capacity];
+        var high = new int[capacity];
+        var depths = new int[capacity];
+        
+        high[0] = keys.length;
+        int nodes = 1;
+        
+        // Nodes are laid out breadth-first so that the children of a node are
+        // contiguous, each node covering the sorted keys in [low, high).
+        for (int node = 0; node < nodes; node++) {
+            children[node] = nodes;
+            
+            var depth = depths[node];
+            var i = low[node];
+            if (i < high[node] && keys[i].length() == depth) {
+                i++;
+            }
+            
+            while (i < high[node]) {
+                var character = keys[i].charAt(depth);
+                var j = i + 1;
+                while (j < high[node] && keys[j].charAt(depth) == character) {
+                    j++;
+                }
+                
+                characters[nodes] = character;
+                low[nodes] = i;
+                high[nodes] = j;
+                depths[nodes] = depth + 1;
+                nodes++;
+                
+                i = j;
+            }
+        }
+        
+        children[nodes] = nodes;
+        
+        this.characters = Arrays.copyOf(characters, nodes);
+        this.children = Arrays.copyOf(children, nodes + 1);
+        this.low = Arrays.copyOf(low, nodes);
+        this.high = Arrays.copyOf(high, nodes);
+    }
+    
+    
+    @Override
+    public Iterator<Entry<String, V>> prefixIterator(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? Collections.emptyIterator() : new EntryIterator(low[node], high[node]);
+    }
+    
+    @Override
+    public Stream<Entry<String, V>> prefixStream(String prefix) {
+        var node = node(prefix);
+        if (node == -1) {
+            return Stream.empty();
+        }
+        
+        var characteristics = Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.IMMUTABLE;
+        var spliterator = Spliterators.spliterator(new EntryIterator(low[node], high[node]), high[node] - low[node], characteristics);
+        return StreamSupport.stream(spliterator, false);
+    }
+    
+    @Override
+    public List<String> prefixedKeys(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Illegal limit: " + limit);
+        }
+        
+        var node = node(prefix);
+        if (node == -1) {
+            return List.of();
+        }
+        
+        var keys = Arrays.asList(this.keys).subList(low[node], Math.min(high[node], low[node] + limit));
+        return Collections.unmodifiableList(keys);
+    }
+    
+    
+    public List<String> fuzzy(String key, int distance, int limit) {
+        var levenshtein = new Levenshtein(key, distance, limit);
+        var row = levenshtein.row();
+        if (keys.length > 0 && keys[0].isEmpty()) {
+            levenshtein.match(keys[0], row);
+        }
+        
+        fuzzy(0, 1, row, levenshtein);
+        return levenshtein.matches();
+    }
+    
+    void fuzzy(int node, int depth, int[] previous, Levenshtein levenshtein) {
+        for (int child = children[node]; child < children[node + 1]; child++) {
+            var row = levenshtein.next(previous, characters[child]);
+            if (keys[low[child]].length() == depth) {
+                levenshtein.match(keys[low[child]], row);
+            }
+            
+            if (!levenshtein.prunable(row)) {
+                fuzzy(child, depth + 1, row, levenshtein);
+            }
+        }
+    }
+    
+    
+    @Override
+    public Set<Entry<String, V>> prefixEntries(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? Set.of() : new EntrySet(low[node], high[node]);
+    }
+    
+    @Override
+    public Set<String> prefixedKeys(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? Set.of() : new KeySet(low[node], high[node]);
+    }
+    
+    @Override
+    public Collection<V> prefixedValues(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? List.of() : new ValueCollection(low[node], high[node]);
+    }
+    
+    
+    public void writeTo(WritableByteChannel channel, Function<? super V, byte[]> encoder) throws IOException {
+        var encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = encoder.apply(value(i));
+        }
+        
+        var nodes = characters.length;
+        var buffer = new Output(channel);
+        
+        buffer.putInt(MappedTrie.MAGIC).putInt(MappedTrie.VERSION).putInt(keys.length).putInt(nodes);
+        
+        for (var child : children) {
+            buffer.putInt(child);
+        }
+        
+        for (int i = 0; i < nodes; i++) {
+            buffer.putInt(low[i]);
+        }
+        
+        for (int i = 0; i < nodes; i++) {
+            buffer.putInt(high[i]);
+        }
+        
+        var offset = 0;
+        buffer.putInt(offset);
+        for (var key : keys) {
+            buffer.putInt(offset += key.length());
+        }
+        
+        offset = 0;
+        buffer.putInt(offset);
+        for (var bytes : encoded) {
+            buffer.putInt(offset += bytes.length);
+        }
+        
+        for (var character : characters) {
+            buffer.putChar(character);
+        }
+        
+        for (var key : keys) {
+            for (int i = 0; i < key.length(); i++) {
+                buffer.putChar(key.charAt(i));
+            }
+        }
+        
+        for (var bytes : encoded) {
+            buffer.put(bytes);
+        }
+        
+        buffer.flush();
+    }
+    
+    
+    int node(String key) {
+        var node = 0;
+        for (int i = 0; i < key.length() && node != -1; i++) {
+            node = child(node, key.charAt(i));
+        }
+        
+        return node;
+    }
+    
+    int child(int node, char character) {
+        var low = children[node];
+        var high = children[node + 1] - 1;
+        
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var current = characters[middle];
+            
+            if (current < character) {
+                low = middle + 1;
+                
+            } else if (current > character) {
+                high = middle - 1;
+                
+            } else {
+                return middle;
+            }
+        }
+        
+        return -1;
+    }
+    
+    int index(Object key) {
+        if (key == null) {
+            throw new NullPointerException("Null keys are not permitted in a trie");
+        }
+        
+        var string = (String) key;
+        return index(string, 0, string.length(), false);
+    }
+    
+    int index(CharSequence key, int start, int end, boolean lowercase) {
+        var node = 0;
+        for (int i = start; i < end && node != -1; i++) {
+            var character = key.charAt(i);
+            node = child(node, lowercase ? Character.toLowerCase(character) : character);
+        }
+        
+        if (node == -1 || low[node] == high[node]) {
+            return -1;
+        }
+        
+        var index = low[node];
+        return keys[index].length() == end - start ? index : -1;
+    }
+    
+    V value(int index) {
+        return (V) values[index];
+    }
+    
+    
+    @Override
+    public boolean containsValue(Object value) {
+        for (var element : values) {
+            if (Objects.equals(element, value)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return index(key) != -1;
+    }
+    
+    @Override
+    public @Nullable V get(Object key) {
+        var index = index(key);
+        return index == -1 ? null : value(index);
+    }
+    
+    @Override
+    public @Nullable V get(CharSequence key, int start, int end) {
+        var index = index(key, start, end, false);
+        return index == -1 ? null : value(index);
+    }
+    
+    @Override
+    public @Nullable V getLowercase(CharSequence key, int start, int end) {
+        var index = index(key, start, end, true);
+        return index == -1 ? null : value(index);
+    }
+    
+    
+    @Override
+    public int size() {
+        return keys.length;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+    
+    
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new EntrySet(0, keys.length);
+    }
+    
+    @Override
+    public Set<String> keySet() {
+        return new KeySet(0, keys.length);
+    }
+    
+    @Override
+    public Collection<V> values() {
+        return new ValueCollection(0, keys.length);
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<String, V>> {
+        
+        final int low;
+        final int high;
+        
+        EntrySet(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+        
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Entry<?, ?>) || !(((Entry<?, ?>) object).getKey() instanceof String)) {
+                return false;
+            }
+            
+            var entry = (Entry<?, ?>) object;
+            var index = index(entry.getKey());
+            return low <= index && index < high && Objects.equals(values[index], entry.getValue());
+        }
+        
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator(low, high);
+        }
+        
+        @Override
+        public int size() {
+            return high - low;
+        }
+        
+    }
+    
+    class KeySet extends AbstractSet<String> {
+        
+        final int low;
+        final int high;
+        
+        KeySet(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+        
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof String)) {
+                return false;
+            }
+            
+            var index = index(object);
+            return low <= index && index < high;
+        }
+        
+        @Override
+        public Iterator<String> iterator() {
+            return new RangeIterator<>(low, high) {
+                @Override
+                String get(int index) {
+                    return keys[index];
+                }
+            };
+        }
+        
+        @Override
+        public int size() {
+            return high - low;
+        }
+        
+    }
+    
+    class ValueCollection extends AbstractCollection<V> {
+        
+        final int low;
+        final int high;
+        
+        ValueCollection(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+        
+        @Override
+        public Iterator<V> iterator() {
+            return new RangeIterator<>(low, high) {
+                @Override
+                V get(int index) {
+                    return value(index);
+                }
+            };
+        }
+        
+        @Override
+        public int size() {
+            return high - low;
+        }
+        
+    }
+    
+    
+    class EntryIterator extends RangeIterator<Entry<String, V>> {
+        
+        EntryIterator(int low, int high) {
+            super(low, high);
+        }
+        
+        @Override
+        Entry<String, V> get(int index) {
+            return new SimpleImmutableEntry<>(keys[index], value(index));
+        }
+        
+    }
+    
+    static class Output {
+        
+        final WritableByteChannel channel;
+        final ByteBuffer buffer;
+        
+        Output(WritableByteChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(1 << 16);
+        }
+        
+        Output putInt(int value) throws IOException {
+            reserve(Integer.BYTES);
+            buffer.putInt(value);
+            return this;
+        }
+        
+        Output putChar(char value) throws IOException {
+            reserve(Character.BYTES);
+            buffer.putChar(value);
+            return this;
+        }
+        
+        Output put(byte[] bytes) throws IOException {
+            for (int i = 0; i < bytes.length;) {
+                reserve(1);
+                var length = Math.min(buffer.remaining(), bytes.length - i);
+                buffer.put(bytes, i, length);
+                i += length;
+            }
+            return this;
+        }
+        
+        void reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+        
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        
+    }
+    
+    static abstract class RangeIterator<T> implements Iterator<T> {
+        
+        int index;
+        final int high;
+        
+        RangeIterator(int low, int high) {
+            this.index = low;
+            this.high = high;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return index < high;
+        }
+        
+        @Override
+        public T next() {
+            if (index >= high) {
+                throw new NoSuchElementException();
+            }
+            
+            return get(index++);
+        }
+        
+        abstract T get(int index);
+        
+    }
+    
+}
@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.annotations.Immutable;
+
+import java.util.*;
+
+
+public final @Immutable class InfixIndex {
+    
+    static final InfixIndex EMPTY = new InfixIndex(new String[0]);
+    
+    
+    public static InfixIndex of() {
+        return EMPTY;
+    }
+    
+    public static InfixIndex copyOf(Collection<String> keys) {
+        var sorted = new TreeSet<>(keys).toArray(new String[0]);
+        return sorted.length == 0 ? EMPTY : new InfixIndex(sorted);
+    }
+    
+    
+    final String[] keys;
+    final int[] strings;
+    final int[] offsets;
+    
+    
+    InfixIndex(String[] keys) {
+        this.keys = keys;
+        
+        int length = 0;
+        for (var key : keys) {
+            length += key.length();
+        }
+        
+        var suffixes = new Integer[length];
+        var strings = new int[length];
+        var offsets = new int[length];
+        
+        for (int i = 0, suffix = 0; i < keys.length; i++) {
+            for (int offset = 0; offset < keys[i].length(); offset++, suffix++) {
+                suffixes[suffix] = suffix;
+                strings[suffix] = i;
+                offsets[suffix] = offset;
+            }
+        }
+        
+        // Suffixes of every key are sorted together so that the suffixes which
+        // start with an infix are contiguous.
+        Arrays.sort(suffixes, (a, b) -> compare(keys[strings[a]], offsets[a], keys[strings[b]], offsets[b]));
+        
+        this.strings = new int[length];
+        this.offsets = new int[length];
+        for (int i = 0; i < length; i++) {
+            this.strings[i] = strings[suffixes[i]];
+            this.offsets[i] = offsets[suffixes[i]];
+        }
+    }
+    
+    static int compare(String a, int i, String b, int j) {
+        while (i < a.length() && j < b.length()) {
+            var difference = a.charAt(i++) - b.charAt(j++);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        
+        return (a.length() - i) - (b.length() - j);
+    }
+    
+    
+    public List<String> containing(String infix) {
+        return containing(infix, Integer.MAX_VALUE);
+    }
+    
+    public List<String> containing(String infix, int limit) {
+        if (infix.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(keys).subList(0, Math.min(keys.length, limit)));
+        }
+        
+        var low = search(infix, false);
+        var high = search(infix, true);
+        
+        // Matching suffixes are sorted by their text rather than their key, so
+        // only the matching keys' indices are copied and sorted.
+        var matches = Arrays.copyOfRange(strings, low, high);
+        Arrays.sort(matches);
+        
+        var keys = new ArrayList<String>(Math.max(Math.min(matches.length, limit), 0));
+        for (int i = 0; i < matches.length && keys.size() < limit; i++) {
+            if (i == 0 || matches[i] != matches[i - 1]) {
+                keys.add(this.keys[matches[i]]);
+            }
+        }
+        
+        return keys;
+    }
+    
+    int search(String infix, boolean after) {
+        int low = 0;
+        int high = strings.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            var comparison = compare(middle, infix);
+            if (comparison < 0 || (after && comparison == 0)) {
+                low = middle + 1;
+                
+            } else {
+                high = middle;
+            }
+        }
+        
+        return low;
+    }
+    
+    int compare(int suffix, String infix) {
+        var key = keys[strings[suffix]];
+        var offset = offsets[suffix];
+        for (int i = 0; i < infix.length(); i++) {
+            if (offset + i == key.length()) {
+                return -1;
+            }
+            
+            var difference = key.charAt(offset + i) - infix.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        
+        return 0;
+    }
+    
+    
+    public boolean contains(String key) {
+        return Arrays.binarySearch(keys, key) >= 0;
+    }
+    
+    public int size() {
+        return keys.length;
+    }
+    
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+    
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.annotations.Immutable;
+import com.karuslabs.commons.util.collection.TokenMap.Key;
+
+import java.util.*;
+
+
+public final @Immutable class KeySchema<N, T> {
+    
+    @SafeVarargs
+    public static <N, T> KeySchema<N, T> of(Key<N, ? extends T>... keys) {
+        var list = new ArrayList<Key<N, ? extends T>>(keys.length);
+        for (var key : keys) {
+            list.add(key);
+        }
+        
+        return new KeySchema<>(list);
+    }
+    
+    
+    final List<Key<N, ? extends T>> keys;
+    // Keys are probed linearly by their hash in table, with each key's slot
+    // stored at the same index in slots. Keys themselves are never modified
+    // since they may be shared by several schemas.
+    final Key<?, ?>[] table;
+    final int[] slots;
+    final int mask;
+    
+    
+    KeySchema(List<Key<N, ? extends T>> keys) {
+        this.keys = List.copyOf(keys);
+        this.table = new Key<?, ?>[ArrayTokenMap.length(2 * keys.size())];
+        this.slots = new int[table.length];
+        this.mask = table.length - 1;
+        
+        for (int i = 0; i < this.keys.size(); i++) {
+            var key = this.keys.get(i);
+            if (slot(key) != -1) {
+                throw new IllegalArgumentException("Schema contains duplicate key: " + key);
+            }
+            
+            var j = ArrayTokenMap.spread(key.hash) & mask;
+            while (table[j] != null) {
+                j = (j + 1) & mask;
+            }
+            
+            table[j] = key;
+            slots[j] = i;
+        }
+    }
+    
+    
+    public int slot(Key<?, ?> key) {
+        for (int i = ArrayTokenMap.spread(key.hash) & mask; table[i] != null; i = (i + 1) & mask) {
+            if (table[i].equals(key)) {
+                return slots[i];
+            }
+        }
+        
+        return -1;
+    }
+    
+    public int slot(N name, Class<?> type) {
+        for (int i = ArrayTokenMap.spread(Key.hash(name, type)) & mask; table[i] != null; i = (i + 1) & mask) {
+            if (table[i].type == type && Objects.equals(table[i].name, name)) {
+                return slots[i];
+            }
+        }
+        
+        return -1;
+    }
+    
+    
+    public List<Key<N, ? extends T>> keys() {
+        return keys;
+    }
+    
+    public int size() {
+        return keys.size();
+    }
+    
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+
+
+class Levenshtein {
+    
+    final String key;
+    final List<List<String>> matches;
+    final int limit;
+    int distance;
+    
+    
+    Levenshtein(String key, int distance, int limit) {
+        this.key = key;
+        this.matches = new ArrayList<>(Collections.nCopies(Math.max(distance + 1, 0), null));
+        this.limit = limit;
+        this.distance = limit > 0 ? distance : -1;
+    }
+    
+    
+    int[] row() {
+        var row = new int[key.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+        
+        return row;
+    }
+    
+    int[] next(int[] previous, char character) {
+        var row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        
+        for (int i = 1; i < row.length; i++) {
+            var substitution = previous[i - 1] + (key.charAt(i - 1) == character ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(row[i - 1], previous[i]) + 1);
+        }
+        
+        return row;
+    }
+    
+    // No descendant can be closer than the smallest distance in the row
+    boolean prunable(int[] row) {
+        for (var distance : row) {
+            if (distance <= this.distance) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    
+    void match(String key, int[] row) {
+        var distance = row[row.length - 1];
+        if (distance > this.distance) {
+            return;
+        }
+        
+        if (matches.get(distance) == null) {
+            matches.set(distance, new ArrayList<>());
+        }
+        matches.get(distance).add(key);
+        
+        // Once enough closer matches are found, farther matches can no longer
+        // be returned and the search can be narrowed
+        var count = 0;
+        for (int i = 0; i <= this.distance; i++) {
+            count += matches.get(i) == null ? 0 : matches.get(i).size();
+            if (count >= limit) {
+                this.distance = i;
+                break;
+            }
+        }
+    }
+    
+    List<String> matches() {
+        var ranked = new ArrayList<String>(Math.max(Math.min(limit, 16), 0));
+        for (int i = 0; i <= distance && ranked.size() < limit; i++) {
+            var level = matches.get(i);
+            if (level != null) {
+                Collections.sort(level);
+                ranked.addAll(level.subList(0, Math.min(level.size(), limit - ranked.size())));
+            }
+        }
+        
+        return ranked;
+    }
+    
+}
@@ -0,0 +1,366 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.annotations.Immutable;
+import com.karuslabs.commons.util.collection.ImmutableTrie.RangeIterator;
+
+import java.nio.*;
+import java.util.*;
+import java.util.function.Function;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public final @Immutable class MappedTrie<V> extends AbstractMap<String, V> implements PrefixMap<V> {
+    
+    static final int MAGIC = 0x54524945;
+    static final int VERSION = 1;
+    static final int HEADER = 4 * Integer.BYTES;
+    
+    
+    public static MappedTrie<ByteBuffer> of(ByteBuffer buffer) {
+        return new MappedTrie<>(buffer, value -> value);
+    }
+    
+    public static <V> MappedTrie<V> of(ByteBuffer buffer, Function<ByteBuffer, ? extends V> decoder) {
+        return new MappedTrie<>(buffer, decoder);
+    }
+    
+    
+    final ByteBuffer buffer;
+    final Function<ByteBuffer, ? extends V> decoder;
+    final int size;
+    
+    final int children;
+    final int low;
+    final int high;
+    final int keys;
+    final int values;
+    final int characters;
+    final int strings;
+    final int bytes;
+    
+    
+    MappedTrie(ByteBuffer buffer, Function<ByteBuffer, ? extends V> decoder) {
+        this.buffer = buffer.asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+        this.decoder = decoder;
+        
+        var start = buffer.position();
+        if (buffer.remaining() < HEADER || this.buffer.getInt(start) != MAGIC) {
+            throw new IllegalArgumentException("Buffer does not contain a trie");
+        }
+        
+        if (this.buffer.getInt(start + Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Unsupported trie version: " + this.buffer.getInt(start + Integer.BYTES));
+        }
+        
+        size = this.buffer.getInt(start + 2 * Integer.BYTES);
+        var nodes = this.buffer.getInt(start + 3 * Integer.BYTES);
+        
+        children = start + HEADER;
+        low = children + (nodes + 1) * Integer.BYTES;
+        high = low + nodes * Integer.BYTES;
+        keys = high + nodes * Integer.BYTES;
+        values = keys + (size + 1) * Integer.BYTES;
+        characters = values + (size + 1) * Integer.BYTES;
+        strings = characters + nodes * Character.BYTES;
+        bytes = strings + this.buffer.getInt(values - Integer.BYTES) * Character.BYTES;
+    }
+    
+    
+    @Override
+    public Iterator<Entry<String, V>> prefixIterator(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? Collections.emptyIterator() : new EntryIterator(low(node), high(node));
+    }
+    
+    @Override
+    public Set<Entry<String, V>> prefixEntries(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? Set.of() : new EntrySet(low(node), high(node));
+    }
+    
+    @Override
+    public Set<String> prefixedKeys(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? Set.of() : new KeySet(low(node), high(node));
+    }
+    
+    @Override
+    public Collection<V> prefixedValues(String prefix) {
+        var node = node(prefix);
+        return node == -1 ? List.of() : new ValueCollection(low(node), high(node));
+    }
+    
+    
+    int node(String key) {
+        var node = 0;
+        for (int i = 0; i < key.length() && node != -1; i++) {
+            node = child(node, key.charAt(i));
+        }
+        
+        return node;
+    }
+    
+    int child(int node, char character) {
+        var low = buffer.getInt(children + node * Integer.BYTES);
+        var high = buffer.getInt(children + (node + 1) * Integer.BYTES) - 1;
+        
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var current = buffer.getChar(characters + middle * Character.BYTES);
+            
+            if (current < character) {
+                low = middle + 1;
+                
+            } else if (current > character) {
+                high = middle - 1;
+                
+            } else {
+                return middle;
+            }
+        }
+        
+        return -1;
+    }
+    
+    int index(Object key) {
+        if (key == null) {
+            throw new NullPointerException("Null keys are not permitted in a trie");
+        }
+        
+        var string = (String) key;
+        return index(string, 0, string.length(), false);
+    }
+    
+    int index(CharSequence key, int start, int end, boolean lowercase) {
+        var node = 0;
+        for (int i = start; i < end && node != -1; i++) {
+            var character = key.charAt(i);
+            node = child(node, lowercase ? Character.toLowerCase(character) : character);
+        }
+        
+        if (node == -1 || low(node) == high(node)) {
+            return -1;
+        }
+        
+        var index = low(node);
+        return length(index) == end - start ? index : -1;
+    }
+    
+    
+    int low(int node) {
+        return buffer.getInt(low + node * Integer.BYTES);
+    }
+    
+    int high(int node) {
+        return buffer.getInt(high + node * Integer.BYTES);
+    }
+    
+    int length(int index) {
+        return buffer.getInt(keys + (index + 1) * Integer.BYTES) - buffer.getInt(keys + index * Integer.BYTES);
+    }
+    
+    String key(int index) {
+        var offset = strings + buffer.getInt(keys + index * Integer.BYTES) * Character.BYTES;
+        var key = new char[length(index)];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = buffer.getChar(offset + i * Character.BYTES);
+        }
+        
+        return new String(key);
+    }
+    
+    V value(int index) {
+        var low = bytes + buffer.getInt(values + index * Integer.BYTES);
+        var high = bytes + buffer.getInt(values + (index + 1) * Integer.BYTES);
+        
+        return decoder.apply(buffer.duplicate().limit(high).position(low).slice());
+    }
+    
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return index(key) != -1;
+    }
+    
+    @Override
+    public @Nullable V get(Object key) {
+        var index = index(key);
+        return index == -1 ? null : value(index);
+    }
+    
+    @Override
+    public @Nullable V get(CharSequence key, int start, int end) {
+        var index = index(key, start, end, false);
+        return index == -1 ? null : value(index);
+    }
+    
+    @Override
+    public @Nullable V getLowercase(CharSequence key, int start, int end) {
+        var index = index(key, start, end, true);
+        return index == -1 ? null : value(index);
+    }
+    
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new EntrySet(0, size);
+    }
+    
+    @Override
+    public Set<String> keySet() {
+        return new KeySet(0, size);
+    }
+    
+    @Override
+    public Collection<V> values() {
+        return new ValueCollection(0, size);
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<String, V>> {
+        
+        final int low;
+        final int high;
+        
+        EntrySet(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+        
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof Entry<?, ?>) || !(((Entry<?, ?>) object).getKey() instanceof String)) {
+                return false;
+            }
+            
+            var entry = (Entry<?, ?>) object;
+            var index = index(entry.getKey());
+            return low <= index && index < high && Objects.equals(value(index), entry.getValue());
+        }
+        
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator(low, high);
+        }
+        
+        @Override
+        public int size() {
+            return high - low;
+        }
+        
+    }
+    
+    class KeySet extends AbstractSet<String> {
+        
+        final int low;
+        final int high;
+        
+        KeySet(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+        
+        @Override
+        public boolean contains(Object object) {
+            if (!(object instanceof String)) {
+                return false;
+            }
+            
+            var index = index(object);
+            return low <= index && index < high;
+        }
+        
+        @Override
+        public Iterator<String> iterator() {
+            return new RangeIterator<>(low, high) {
+                @Override
+                String get(int index) {
+                    return key(index);
+                }
+            };
+        }
+        
+        @Override
+        public int size() {
+            return high - low;
+        }
+        
+    }
+    
+    class ValueCollection extends AbstractCollection<V> {
+        
+        final int low;
+        final int high;
+        
+        ValueCollection(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+        
+        @Override
+        public Iterator<V> iterator() {
+            return new RangeIterator<>(low, high) {
+                @Override
+                V get(int index) {
+                    return value(index);
+                }
+            };
+        }
+        
+        @Override
+        public int size() {
+            return high - low;
+        }
+        
+    }
+    
+    
+    class EntryIterator extends RangeIterator<Entry<String, V>> {
+        
+        EntryIterator(int low, int high) {
+            super(low, high);
+        }
+        
+        @Override
+        Entry<String, V> get(int index) {
+            return new SimpleImmutableEntry<>(key(index), value(index));
+        }
+        
+    }
+    
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+import java.util.stream.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Spliterator.*;
+
+
+public interface PrefixMap<V> extends Map<String, V> {
+    
+    public default @Nullable V get(CharSequence key, int start, int end) {
+        return get(key.subSequence(start, end).toString());
+    }
+    
+    public default @Nullable V getLowercase(CharSequence key, int start, int end) {
+        return get(key.subSequence(start, end).toString().toLowerCase());
+    }
+    
+    
+    public Iterator<Entry<String, V>> prefixIterator(String prefix);
+    
+    public default Stream<Entry<String, V>> prefixStream(String prefix) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prefixIterator(prefix), DISTINCT | NONNULL), false);
+    }
+    
+    public default List<String> prefixedKeys(String prefix, int limit) {
+        var keys = new ArrayList<String>(Math.min(limit, 16));
+        var iterator = prefixIterator(prefix);
+        while (keys.size() < limit && iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+        }
+        
+        return keys;
+    }
+    
+    
+    public Set<Entry<String, V>> prefixEntries(String prefix);
+    
+    public Set<String> prefixedKeys(String prefix);
+    
+    public Collection<V> prefixedValues(String prefix);
+    
+}
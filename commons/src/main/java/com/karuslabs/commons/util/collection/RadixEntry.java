@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.annotations.ValueType;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+final @ValueType class RadixEntry<T> implements Entry<String, T> {
+    
+    static final char[] EMPTY = new char[0];
+    static final RadixEntry<?>[] NONE = new RadixEntry<?>[0];
+    
+    
+    char[] label;
+    char[] characters;
+    RadixEntry<T>[] children;
+    
+    @Nullable String key;
+    @Nullable T value;
+    
+    
+    RadixEntry(char[] label) {
+        this(label, null, null);
+    }
+    
+    RadixEntry(char[] label, @Nullable String key, @Nullable T value) {
+        this.label = label;
+        this.characters = EMPTY;
+        this.children = (RadixEntry<T>[]) NONE;
+        this.key = key;
+        this.value = value;
+    }
+    
+    
+    @Nullable RadixEntry<T> get(char character) {
+        var index = Arrays.binarySearch(characters, character);
+        return index < 0 ? null : children[index];
+    }
+    
+    int match(String key, int start) {
+        int length = Math.min(label.length, key.length() - start);
+        int i = 0;
+        while (i < length && label[i] == key.charAt(start + i)) {
+            i++;
+        }
+        
+        return i;
+    }
+    
+    
+    void add(RadixEntry<T> child) {
+        var character = child.label[0];
+        var index = -(Arrays.binarySearch(characters, character) + 1);
+        
+        var characters = new char[this.characters.length + 1];
+        System.arraycopy(this.characters, 0, characters, 0, index);
+        System.arraycopy(this.characters, index, characters, index + 1, this.characters.length - index);
+        characters[index] = character;
+        
+        var children = Arrays.copyOf(this.children, this.children.length + 1);
+        System.arraycopy(this.children, index, children, index + 1, this.children.length - index);
+        children[index] = child;
+        
+        this.characters = characters;
+        this.children = children;
+    }
+    
+    void replace(RadixEntry<T> child) {
+        children[Arrays.binarySearch(characters, child.label[0])] = child;
+    }
+    
+    @Nullable RadixEntry<T> remove(char character) {
+        var index = Arrays.binarySearch(characters, character);
+        if (index < 0) {
+            return null;
+        }
+        
+        var removed = children[index];
+        if (children.length == 1) {
+            characters = EMPTY;
+            children = (RadixEntry<T>[]) NONE;
+            return removed;
+        }
+        
+        var characters = new char[this.characters.length - 1];
+        System.arraycopy(this.characters, 0, characters, 0, index);
+        System.arraycopy(this.characters, index + 1, characters, index, characters.length - index);
+        
+        var children = Arrays.copyOf(this.children, this.children.length - 1);
+        System.arraycopy(this.children, index + 1, children, index, children.length - index);
+        
+        this.characters = characters;
+        this.children = children;
+        return removed;
+    }
+    
+    void clear() {
+        characters = EMPTY;
+        children = (RadixEntry<T>[]) NONE;
+        key = null;
+        value = null;
+    }
+    
+    
+    @Override
+    public @Nullable String getKey() {
+        return key;
+    }
+
+    @Override
+    public @Nullable T getValue() {
+        return value;
+    }
+
+    @Override
+    public @Nullable T setValue(T value) {
+        var replaced = this.value;
+        this.value = value;
+
+        return replaced;
+    }
+    
+    
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        
+        if (!(other instanceof Entry)) {
+            return false;
+        }
+        
+        var entry = (Entry<?, ?>) other;
+        return Objects.equals(key, entry.getKey()) && Objects.equals(value, entry.getValue());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+    
+    @Override
+    public String toString() {
+        return key + "=" + value;
+    }
+    
+}
@@ -0,0 +1,510 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+import java.util.function.Function;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static com.karuslabs.commons.util.collection.RadixEntry.EMPTY;
+
+
+public class RadixTrie<V> extends AbstractMap<String, V> implements PrefixMap<V> {
+    
+    RadixEntry<V> root;
+    int modifications;
+    int size;
+    
+    @Nullable EntrySet entries;
+    @Nullable KeySet keys;
+    @Nullable ValueCollection values;
+    
+    
+    public RadixTrie() {
+        root = new RadixEntry<>(EMPTY);
+        modifications = 0;
+        size = 0;
+    }
+    
+    
+    @Override
+    public Iterator<Entry<String, V>> prefixIterator(String prefix) {
+        return new EntryIterator(find(prefix));
+    }
+    
+    @Override
+    public Set<Entry<String, V>> prefixEntries(String prefix) {
+        return prefixed(prefix, entry -> entry, new HashSet<>());
+    }
+    
+    @Override
+    public Set<String> prefixedKeys(String prefix) {
+        return prefixed(prefix, entry -> entry.getKey(), new HashSet<>());
+    }
+    
+    @Override
+    public Collection<V> prefixedValues(String prefix) {
+        return prefixed(prefix, entry -> entry.getValue(), new ArrayList<>());
+    }
+    
+    
+    <C extends Collection<T>, T> C prefixed(String prefix, Function<Entry<String, V>, T> mapper, C collection) {
+        var entry = find(prefix);
+        if (entry != null) {
+            map(entry, mapper, collection);
+        }
+        
+        return collection;
+    }
+    
+    @Nullable RadixEntry<V> find(String prefix) {
+        var entry = root;
+        for (int i = 0; i < prefix.length();) {
+            entry = entry.get(prefix.charAt(i));
+            if (entry == null) {
+                return null;
+            }
+            
+            var matched = entry.match(prefix, i);
+            i += matched;
+            
+            if (matched < entry.label.length && i < prefix.length()) {
+                return null;
+            }
+        }
+        
+        return entry;
+    }
+    
+    <C extends Collection<T>, T> void map(RadixEntry<V> entry, Function<Entry<String, V>, T> mapper, C leaves) {
+        if (entry.key != null) {
+            leaves.add(mapper.apply(entry));
+        }
+        
+        for (var child : entry.children) {
+            map(child, mapper, leaves);
+        }
+    }
+    
+    
+    @Override
+    public boolean containsValue(Object value) {
+        return contains(root, value);
+    }
+    
+    boolean contains(RadixEntry<V> entry, Object value) {
+        if (entry.key != null && Objects.equals(entry.value, value)) {
+            return true;
+        }
+        
+        for (var child : entry.children) {
+            if (contains(child, value)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return getEntry(key) != null;
+    }
+    
+    @Override
+    public @Nullable V get(Object key) {
+        var entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+    
+    @Nullable RadixEntry<V> getEntry(Object key) {
+        if (key == null) {
+            throw new NullPointerException("Null keys are not permitted in a trie");
+        }
+        
+        var string = (String) key;
+        var entry = root;
+        for (int i = 0; i < string.length(); i += entry.label.length) {
+            entry = entry.get(string.charAt(i));
+            if (entry == null || entry.match(string, i) < entry.label.length) {
+                return null;
+            }
+        }
+        
+        return entry.key == null ? null : entry;
+    }
+    
+    
+    @Override
+    public void putAll(Map<? extends String, ? extends V> map) {
+        for (var entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    @Override
+    public @Nullable V put(String key, V value) {
+        var entry = root;
+        int i = 0;
+        while (i < key.length()) {
+            var child = entry.get(key.charAt(i));
+            if (child == null) {
+                var label = new char[key.length() - i];
+                key.getChars(i, key.length(), label, 0);
+                
+                entry.add(new RadixEntry<>(label, key, value));
+                size++;
+                modifications++;
+                return null;
+            }
+            
+            var matched = child.match(key, i);
+            if (matched < child.label.length) {
+                var split = new RadixEntry<V>(Arrays.copyOf(child.label, matched));
+                child.label = Arrays.copyOfRange(child.label, matched, child.label.length);
+                split.add(child);
+                entry.replace(split);
+                child = split;
+            }
+            
+            entry = child;
+            i += matched;
+        }
+        
+        modifications++;
+        if (entry.key == null) {
+            entry.key = key;
+            entry.value = value;
+            size++;
+            return null;
+            
+        } else {
+            return entry.setValue(value);
+        }
+    }
+    
+    
+    @Override
+    public @Nullable V remove(Object key) {
+        if (key == null) {
+            throw new NullPointerException("Null keys are not permitted in a trie");
+        }
+        
+        var string = (String) key;
+        RadixEntry<V> grandparent = null;
+        RadixEntry<V> parent = null;
+        var entry = root;
+        
+        for (int i = 0; i < string.length(); i += entry.label.length) {
+            var child = entry.get(string.charAt(i));
+            if (child == null || child.match(string, i) < child.label.length) {
+                return null;
+            }
+            
+            grandparent = parent;
+            parent = entry;
+            entry = child;
+        }
+        
+        return entry.key == null ? null : removeEntry(grandparent, parent, entry);
+    }
+    
+    @Nullable V removeEntry(@Nullable RadixEntry<V> grandparent, @Nullable RadixEntry<V> parent, RadixEntry<V> entry) {
+        var value = entry.value;
+        entry.key = null;
+        entry.value = null;
+        
+        if (parent != null) {
+            if (entry.children.length == 0) {
+                parent.remove(entry.label[0]);
+                if (grandparent != null && parent.key == null && parent.children.length == 1) {
+                    grandparent.replace(merge(parent, parent.children[0]));
+                }
+                
+            } else if (entry.children.length == 1) {
+                parent.replace(merge(entry, entry.children[0]));
+            }
+        }
+        
+        size--;
+        modifications++;
+        return value;
+    }
+    
+    RadixEntry<V> merge(RadixEntry<V> parent, RadixEntry<V> child) {
+        var label = new char[parent.label.length + child.label.length];
+        System.arraycopy(parent.label, 0, label, 0, parent.label.length);
+        System.arraycopy(child.label, 0, label, parent.label.length, child.label.length);
+        
+        child.label = label;
+        return child;
+    }
+    
+    
+    @Override
+    public void clear() {
+        size = 0;
+        modifications++;
+        root.clear();
+    }
+    
+    
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        if (entries == null) {
+            entries = new EntrySet();
+        }
+        
+        return entries;
+    }
+    
+    @Override
+    public Set<String> keySet() {
+        if (keys == null) {
+            keys = new KeySet();
+        }
+        
+        return keys;
+    }
+
+    @Override
+    public Collection<V> values() {
+        if (values == null) {
+            values = new ValueCollection();
+        }
+        return values;
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<String, V>> {
+        
+        @Override
+        public boolean contains(Object object) {
+            var entry = (Entry<?, ?>) object;
+            var found = getEntry(entry.getKey());
+            
+            return entry.equals(found);
+        }
+        
+        @Override
+        public boolean remove(Object object) {
+            var other = (Entry<?, ?>) object;
+            var entry = getEntry(other.getKey());
+            
+            if (entry != null && Objects.equals(entry.getValue(), other.getValue())) {
+                RadixTrie.this.remove(other.getKey());
+                return true;
+                
+            } else {
+                return false;
+            }
+        }
+        
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+    }
+    
+    class KeySet extends AbstractSet<String> {
+        
+        @Override
+        public boolean contains(Object key) {
+            return containsKey(key);
+        }
+        
+        @Override
+        public boolean remove(Object key) {
+            if (containsKey(key)) {
+                RadixTrie.this.remove(key);
+                return true;
+                
+            } else {
+                return false;
+            }
+        }
+        
+        @Override
+        public Iterator<String> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+        
+    }
+    
+    class ValueCollection extends AbstractCollection<V> {
+
+        @Override
+        public boolean contains(Object value) {
+            return containsValue(value);
+        }
+        
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+        
+    }
+    
+    
+    abstract class RadixIterator<T> implements Iterator<T> {
+        
+        Deque<RadixEntry<V>> stack;
+        @Nullable RadixEntry<V> returned;
+        int expectedModifications;
+        
+        
+        RadixIterator() {
+            this(root);
+        }
+        
+        RadixIterator(@Nullable RadixEntry<V> entry) {
+            stack = new ArrayDeque<>();
+            if (entry != null && entry.key != null) {
+                stack.add(entry);
+                
+            } else if (entry != null) {
+                children(entry);
+            }
+            
+            returned = null;
+            expectedModifications = modifications;
+        }
+        
+        
+        @Override
+        public T next() {
+            if (expectedModifications != modifications) {
+                throw new ConcurrentModificationException();
+                
+            } else if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+             
+            return get(returned = nextEntry());
+        }
+        
+        RadixEntry<V> nextEntry() {
+            RadixEntry<V> entry;
+            do {
+                entry = stack.pollLast();
+                children(entry);
+                
+            } while (entry.key == null);
+            
+            return entry;
+        }
+        
+        final void children(RadixEntry<V> entry) {
+            for (int i = entry.children.length - 1; i >= 0; i--) {
+                stack.add(entry.children[i]);
+            }
+        }
+        
+        abstract T get(RadixEntry<V> entry);
+        
+        
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public void remove() {
+            if (expectedModifications != modifications) {
+                throw new ConcurrentModificationException();
+                
+            } else if (returned == null) {
+                throw new IllegalStateException();
+            }
+            
+            RadixTrie.this.remove(returned.key);
+            expectedModifications = modifications;
+            returned = null;
+        }
+        
+    }
+    
+    class EntryIterator extends RadixIterator<Entry<String, V>> {
+        
+        EntryIterator() {}
+        
+        EntryIterator(@Nullable RadixEntry<V> entry) {
+            super(entry);
+        }
+
+        @Override
+        Entry<String, V> get(RadixEntry<V> entry) {
+            return entry;
+        }
+        
+    }
+    
+    class KeyIterator extends RadixIterator<String> {
+
+        @Override
+        String get(RadixEntry<V> entry) {
+            return entry.key;
+        }
+        
+    }
+    
+    class ValueIterator extends RadixIterator<V> {
+
+        @Override
+        V get(RadixEntry<V> entry) {
+            return entry.value;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,354 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.concurrent.locks.AutoReadWriteLock;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public class RankedTrie<V> {
+    
+    static final char[] CHARACTERS = new char[0];
+    static final Node<?>[] NONE = new Node<?>[0];
+    
+    
+    final AutoReadWriteLock lock;
+    final Node<V> root;
+    // Bumps are recorded in their nodes' LongAdders under the read lock and only
+    // folded into the ranked weights by the next query
+    final Queue<Node<V>> bumped;
+    int size;
+    
+    
+    public RankedTrie() {
+        lock = new AutoReadWriteLock();
+        root = new Node<>((char) 0, null);
+        bumped = new ConcurrentLinkedQueue<>();
+        size = 0;
+    }
+    
+    
+    public List<String> top(String prefix, int limit) {
+        if (!bumped.isEmpty()) {
+            fold();
+        }
+        
+        try (var mutex = lock.readLock().hold()) {
+            var node = find(prefix);
+            if (node == null || node.best == Long.MIN_VALUE || limit <= 0) {
+                return List.of();
+            }
+            
+            // Each candidate is either a key or a subtree ranked by the best weight
+            // within it. As a subtree's weight and path bound every key inside it,
+            // keys are polled in order of descending weight, then ascending key.
+            var keys = new ArrayList<String>(Math.min(limit, 16));
+            var candidates = new PriorityQueue<Candidate<V>>();
+            candidates.add(new Candidate<>(prefix, node, false, node.best));
+            
+            while (keys.size() < limit && !candidates.isEmpty()) {
+                var candidate = candidates.poll();
+                if (candidate.leaf) {
+                    keys.add(candidate.path);
+                    continue;
+                }
+                
+                var current = candidate.node;
+                if (current.key != null) {
+                    candidates.add(new Candidate<>(current.key, current, true, current.weight));
+                }
+                
+                for (var child : current.children) {
+                    if (child.best != Long.MIN_VALUE) {
+                        candidates.add(new Candidate<>(candidate.path + child.character, child, false, child.best));
+                    }
+                }
+            }
+            
+            return keys;
+        }
+    }
+    
+    
+    public boolean bump(String key) {
+        return bump(key, 1);
+    }
+    
+    public boolean bump(String key, long delta) {
+        try (var mutex = lock.readLock().hold()) {
+            var node = find(key);
+            if (node == null || node.key == null) {
+                return false;
+            }
+            
+            node.bumps.add(delta);
+            // Racing bumps may enqueue a node twice, which fold tolerates
+            if (!node.bumped) {
+                node.bumped = true;
+                bumped.add(node);
+            }
+            
+            return true;
+        }
+    }
+    
+    void fold() {
+        try (var mutex = lock.writeLock().hold()) {
+            for (var node = bumped.poll(); node != null; node = bumped.poll()) {
+                node.bumped = false;
+                var delta = node.bumps.sumThenReset();
+                if (node.key != null && delta != 0) {
+                    weigh(node, node.weight + delta);
+                }
+            }
+        }
+    }
+    
+    public long weight(String key) {
+        try (var mutex = lock.readLock().hold()) {
+            var node = find(key);
+            return node == null || node.key == null ? 0 : node.weight + node.bumps.sum();
+        }
+    }
+    
+    
+    public @Nullable V get(String key) {
+        try (var mutex = lock.readLock().hold()) {
+            var node = find(key);
+            return node == null ? null : node.value;
+        }
+    }
+    
+    public boolean containsKey(String key) {
+        try (var mutex = lock.readLock().hold()) {
+            var node = find(key);
+            return node != null && node.key != null;
+        }
+    }
+    
+    
+    public @Nullable V put(String key, V value) {
+        try (var mutex = lock.writeLock().hold()) {
+            var node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.add(key.charAt(i));
+            }
+            
+            if (node.key != null) {
+                var replaced = node.value;
+                node.value = value;
+                return replaced;
+            }
+            
+            node.key = key;
+            node.value = value;
+            weigh(node, 0);
+            size++;
+            return null;
+        }
+    }
+    
+    public @Nullable V put(String key, V value, long weight) {
+        try (var mutex = lock.writeLock().hold()) {
+            var replaced = put(key, value);
+            var node = find(key);
+            node.bumps.reset();
+            weigh(node, weight);
+            return replaced;
+        }
+    }
+    
+    public @Nullable V remove(String key) {
+        try (var mutex = lock.writeLock().hold()) {
+            var node = find(key);
+            if (node == null || node.key == null) {
+                return null;
+            }
+            
+            var value = node.value;
+            node.key = null;
+            node.value = null;
+            node.weight = 0;
+            node.bumps.reset();
+            size--;
+            
+            while (node != root && node.key == null && node.children.length == 0) {
+                node.parent.remove(node.character);
+                node = node.parent;
+            }
+            
+            for (; node != null; node = node.parent) {
+                node.best = node.best();
+            }
+            
+            return value;
+        }
+    }
+    
+    
+    public int size() {
+        try (var mutex = lock.readLock().hold()) {
+            return size;
+        }
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    
+    @Nullable Node<V> find(String key) {
+        var node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.get(key.charAt(i));
+        }
+        
+        return node;
+    }
+    
+    void weigh(Node<V> node, long weight) {
+        node.weight = weight;
+        for (; node != null; node = node.parent) {
+            var best = node.best();
+            if (best == node.best) {
+                break;
+            }
+            node.best = best;
+        }
+    }
+    
+    
+    static class Candidate<V> implements Comparable<Candidate<V>> {
+        
+        final String path;
+        final Node<V> node;
+        final boolean leaf;
+        final long weight;
+        
+        Candidate(String path, Node<V> node, boolean leaf, long weight) {
+            this.path = path;
+            this.node = node;
+            this.leaf = leaf;
+            this.weight = weight;
+        }
+        
+        @Override
+        public int compareTo(Candidate<V> other) {
+            var comparison = Long.compare(other.weight, weight);
+            if (comparison != 0) {
+                return comparison;
+            }
+            
+            comparison = path.compareTo(other.path);
+            return comparison != 0 ? comparison : Boolean.compare(other.leaf, leaf);
+        }
+        
+    }
+    
+    
+    static class Node<V> {
+        
+        final char character;
+        final @Nullable Node<V> parent;
+        char[] characters;
+        Node<V>[] children;
+        @Nullable String key;
+        @Nullable V value;
+        long weight;
+        long best;
+        final LongAdder bumps;
+        volatile boolean bumped;
+        
+        
+        Node(char character, @Nullable Node<V> parent) {
+            this.character = character;
+            this.parent = parent;
+            this.characters = CHARACTERS;
+            this.children = (Node<V>[]) NONE;
+            this.best = Long.MIN_VALUE;
+            this.bumps = new LongAdder();
+        }
+        
+        
+        @Nullable Node<V> get(char character) {
+            var index = Arrays.binarySearch(characters, character);
+            return index < 0 ? null : children[index];
+        }
+        
+        Node<V> add(char character) {
+            var index = Arrays.binarySearch(characters, character);
+            if (index >= 0) {
+                return children[index];
+            }
+            
+            index = -index - 1;
+            var characters = new char[this.characters.length + 1];
+            var children = Arrays.copyOf(this.children, this.children.length + 1);
+            
+            System.arraycopy(this.characters, 0, characters, 0, index);
+            System.arraycopy(this.characters, index, characters, index + 1, this.characters.length - index);
+            System.arraycopy(this.children, index, children, index + 1, this.children.length - index);
+            
+            characters[index] = character;
+            children[index] = new Node<>(character, this);
+            
+            this.characters = characters;
+            this.children = children;
+            return children[index];
+        }
+        
+        void remove(char character) {
+            var index = Arrays.binarySearch(characters, character);
+            if (index < 0) {
+                return;
+            }
+            
+            var characters = new char[this.characters.length - 1];
+            var children = Arrays.copyOf(this.children, this.children.length - 1);
+            
+            System.arraycopy(this.characters, 0, characters, 0, index);
+            System.arraycopy(this.characters, index + 1, characters, index, characters.length - index);
+            System.arraycopy(this.children, index + 1, children, index, children.length - index);
+            
+            this.characters = characters.length == 0 ? CHARACTERS : characters;
+            this.children = children.length == 0 ? (Node<V>[]) NONE : children;
+        }
+        
+        long best() {
+            var best = key == null ? Long.MIN_VALUE : weight;
+            for (var child : children) {
+                best = Math.max(best, child.best);
+            }
+            
+            return best;
+        }
+        
+    }
+    
+}
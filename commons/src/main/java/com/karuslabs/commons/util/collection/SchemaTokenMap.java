@@ -0,0 +1,435 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.collection.TokenMap.Key;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+
+// Keys in the schema are stored at their slot in values while all other keys
+// overflow into an ArrayTokenMap. Callers that already know a key's slot, such
+// as generated schemas, can skip the lookup and access values directly.
+public final class SchemaTokenMap<N, T> implements TokenMap<N, T> {
+    
+    static final Object ABSENT = new Object();
+    
+    
+    final KeySchema<N, T> schema;
+    final Object[] values;
+    int size;
+    @Nullable ArrayTokenMap<N, T> overflow;
+    @Nullable Entries map;
+    
+    
+    SchemaTokenMap(KeySchema<N, T> schema) {
+        this.schema = schema;
+        this.values = new Object[schema.keys.size()];
+        this.size = 0;
+        Arrays.fill(values, ABSENT);
+    }
+    
+    
+    @Override
+    public <U extends T> boolean containsKey(N name, Class<U> type) {
+        return contains(schema.slot(name, type), name, type);
+    }
+    
+    @Override
+    public <U extends T> boolean containsKey(Key<N, U> key) {
+        return contains(schema.slot(key), key.name, key.type);
+    }
+    
+    @Override
+    public <U extends T> boolean containsValue(U value) {
+        return contains(value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U get(N name, Class<U> type) {
+        return get(schema.slot(name, type), name, type);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U get(Key<N, U> key) {
+        return get(schema.slot(key), key.name, key.type);
+    }
+    
+    
+    @Override
+    public <U extends T> U getOrDefault(N name, Class<U> type, U value) {
+        return ArrayTokenMap.fallback(get(schema.slot(name, type), name, type), type, value);
+    }
+    
+    @Override
+    public <U extends T> U getOrDefault(Key<N, U> key, U value) {
+        return ArrayTokenMap.fallback(get(schema.slot(key), key.name, key.type), key.type, value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U put(N name, Class<U> type, U value) {
+        return put(schema.slot(name, type), name, type, value);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U put(Key<N, U> key, U value) {
+        return put(schema.slot(key), key.name, key.type, value);
+    }
+    
+    
+    @Override
+    public <U extends T> @Nullable U remove(N name, Class<U> type) {
+        return remove(schema.slot(name, type), name, type);
+    }
+    
+    @Override
+    public <U extends T> @Nullable U remove(Key<N, U> key) {
+        return remove(schema.slot(key), key.name, key.type);
+    }
+    
+    
+    public boolean containsKey(int slot) {
+        return values[slot] != ABSENT;
+    }
+    
+    public <U extends T> @Nullable U get(int slot, Class<U> type) {
+        return value(values[slot]);
+    }
+    
+    public <U extends T> @Nullable U put(int slot, U value) {
+        return set(slot, value);
+    }
+    
+    public <U extends T> @Nullable U remove(int slot, Class<U> type) {
+        return unset(slot);
+    }
+    
+    
+    boolean contains(@Nullable Object value) {
+        for (var item : values) {
+            if (item != ABSENT && Objects.equals(item, value)) {
+                return true;
+            }
+        }
+        
+        return overflow != null && overflow.contains(value);
+    }
+    
+    boolean contains(int slot, @Nullable Object name, Class<?> type) {
+        if (slot != -1) {
+            return values[slot] != ABSENT;
+        }
+        
+        return overflow != null && overflow.index(name, type) != -1;
+    }
+    
+    <U> @Nullable U get(int slot, @Nullable Object name, Class<?> type) {
+        if (slot != -1) {
+            return value(values[slot]);
+        }
+        
+        if (overflow == null) {
+            return null;
+        }
+        
+        var index = overflow.index(name, type);
+        return index == -1 ? null : overflow.value(index);
+    }
+    
+    <U> @Nullable U put(int slot, @Nullable Object name, Class<?> type, @Nullable Object value) {
+        if (slot != -1) {
+            return set(slot, value);
+        }
+        
+        if (overflow == null) {
+            overflow = new ArrayTokenMap<>();
+        }
+        
+        return overflow.insert(name, type, value);
+    }
+    
+    <U> @Nullable U remove(int slot, @Nullable Object name, Class<?> type) {
+        if (slot != -1) {
+            return unset(slot);
+        }
+        
+        if (overflow == null) {
+            return null;
+        }
+        
+        var index = overflow.index(name, type);
+        return index == -1 ? null : overflow.delete(index);
+    }
+    
+    <U> @Nullable U set(int slot, @Nullable Object value) {
+        var old = values[slot];
+        values[slot] = value;
+        if (old == ABSENT) {
+            size++;
+        }
+        
+        return value(old);
+    }
+    
+    <U> @Nullable U unset(int slot) {
+        var old = values[slot];
+        if (old == ABSENT) {
+            return null;
+        }
+        
+        values[slot] = ABSENT;
+        size--;
+        return value(old);
+    }
+    
+    // Values are only ever read under the key or slot that they were inserted with
+    static <U> @Nullable U value(Object value) {
+        return value == ABSENT ? null : (U) value;
+    }
+    
+    
+    @Override
+    public Map<Key<N, ? extends T>, T> map() {
+        if (map == null) {
+            map = new Entries();
+        }
+        
+        return map;
+    }
+    
+    
+    class Entries extends AbstractMap<Key<N, ? extends T>, T> {
+        
+        @Nullable EntrySet entries;
+        
+        
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof Key<?, ?>)) {
+                return false;
+            }
+            
+            var token = (Key<?, ?>) key;
+            return contains(schema.slot(token), token.name, token.type);
+        }
+        
+        @Override
+        public boolean containsValue(Object value) {
+            return contains(value);
+        }
+        
+        @Override
+        public @Nullable T get(Object key) {
+            if (!(key instanceof Key<?, ?>)) {
+                return null;
+            }
+            
+            var token = (Key<?, ?>) key;
+            return SchemaTokenMap.this.get(schema.slot(token), token.name, token.type);
+        }
+        
+        @Override
+        public @Nullable T put(Key<N, ? extends T> key, T value) {
+            return SchemaTokenMap.this.put(schema.slot(key), key.name, key.type, value);
+        }
+        
+        @Override
+        public @Nullable T remove(Object key) {
+            if (!(key instanceof Key<?, ?>)) {
+                return null;
+            }
+            
+            var token = (Key<?, ?>) key;
+            return SchemaTokenMap.this.remove(schema.slot(token), token.name, token.type);
+        }
+        
+        @Override
+        public void clear() {
+            Arrays.fill(values, ABSENT);
+            size = 0;
+            if (overflow != null) {
+                overflow.map().clear();
+            }
+        }
+        
+        @Override
+        public int size() {
+            return size + (overflow == null ? 0 : overflow.size);
+        }
+        
+        @Override
+        public Set<Entry<Key<N, ? extends T>, T>> entrySet() {
+            if (entries == null) {
+                entries = new EntrySet();
+            }
+            
+            return entries;
+        }
+        
+    }
+    
+    
+    class EntrySet extends AbstractSet<Entry<Key<N, ? extends T>, T>> {
+        
+        @Override
+        public Iterator<Entry<Key<N, ? extends T>, T>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return map().size();
+        }
+        
+    }
+    
+    
+    class EntryIterator implements Iterator<Entry<Key<N, ? extends T>, T>> {
+        
+        int slot = -1;
+        int next = advance(0);
+        @Nullable Iterator<Entry<Key<N, ? extends T>, T>> overflow;
+        boolean overflowed;
+        
+        
+        int advance(int slot) {
+            while (slot < values.length && values[slot] == ABSENT) {
+                slot++;
+            }
+            
+            return slot;
+        }
+        
+        
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+            
+            if (overflow == null && SchemaTokenMap.this.overflow != null) {
+                overflow = SchemaTokenMap.this.overflow.map().entrySet().iterator();
+            }
+            
+            return overflow != null && overflow.hasNext();
+        }
+        
+        @Override
+        public Entry<Key<N, ? extends T>, T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            if (next < values.length) {
+                slot = next;
+                next = advance(next + 1);
+                return new Slot(slot);
+            }
+            
+            slot = -1;
+            overflowed = true;
+            return overflow.next();
+        }
+        
+        @Override
+        public void remove() {
+            if (slot != -1) {
+                if (values[slot] != ABSENT) {
+                    values[slot] = ABSENT;
+                    size--;
+                }
+                slot = -1;
+                
+            } else if (overflowed) {
+                overflow.remove();
+                overflowed = false;
+                
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+        
+    }
+    
+    
+    class Slot implements Entry<Key<N, ? extends T>, T> {
+        
+        final int slot;
+        
+        
+        Slot(int slot) {
+            this.slot = slot;
+        }
+        
+        
+        @Override
+        public Key<N, ? extends T> getKey() {
+            return schema.keys.get(slot);
+        }
+        
+        @Override
+        public T getValue() {
+            return value(values[slot]);
+        }
+        
+        @Override
+        public T setValue(T value) {
+            var old = values[slot];
+            if (old == ABSENT) {
+                size++;
+            }
+            
+            values[slot] = value;
+            return value(old);
+        }
+        
+        
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Entry<?, ?>)) {
+                return false;
+            }
+            
+            var entry = (Entry<?, ?>) other;
+            return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+        
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+        
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+        
+    }
+    
+}
@@ -37,17 +37,25 @@ import static com.karuslabs.commons.util.collection.TokenMap.key;
 public interface TokenMap<N, T> {
     
     public static <N, T> TokenMap<N, T> of() {
-        return new HashTokenMap<>();
+        return new ArrayTokenMap<>();
     }
     
     public static <N, T> TokenMap<N, T> of(int capacity) {
-        return new HashTokenMap<>(capacity);
+        return new ArrayTokenMap<>(capacity);
     }
     
     public static <N, T> @Delegate TokenMap<N, T> of(Map<Key<N, ? extends T>, T> map) {
         return new ProxiedTokenMap<>(map);
     }
     
+    public static <N, T> SchemaTokenMap<N, T> of(KeySchema<N, T> schema) {
+        return new SchemaTokenMap<>(schema);
+    }
+    
+    public static <N, T> TokenMap<N, T> weak() {
+        return new ConcurrentWeakTokenMap<>();
+    }
+    
     
     public <U extends T> boolean containsKey(N name, Class<U> type);
     
@@ -129,7 +137,11 @@ public interface TokenMap<N, T> {
         }
 
         int hash() {
-            return Objects.hash(name, type);
+            return Key.hash(name, type);
+        }
+        
+        static int hash(@Nullable Object name, Class<?> type) {
+            return 31 * (name == null ? 0 : name.hashCode()) + System.identityHashCode(type);
         }
         
         
@@ -158,50 +170,6 @@ public interface TokenMap<N, T> {
 }
 
 
-class HashTokenMap<N, T> extends HashMap<Key<N, ? extends T>, T> implements TokenMap<N, T> {
-    
-    Key<N, T> cached;
-    
-    
-    HashTokenMap() {
-        cached = key(null, null);
-    }
-    
-    HashTokenMap(int capacity) {
-        super(capacity);
-        cached = key(null, null);
-    }
-    
-    
-    @Override
-    public <U extends T> boolean containsKey(N name, Class<U> type) {
-        return containsKey(cached.set(name, type));
-    }
-
-    @Override
-    public <U extends T> @Nullable U get(N name, Class<U> type) {
-        return get((Key<N, U>) cached.set(name, type));
-    }
-
-    @Override
-    public <U extends T> U getOrDefault(N name, Class<U> type, U value) {
-        return getOrDefault((Key<N, U>) cached.set(name, type), value);
-    }
-    
-    @Override
-    public <U extends T> @Nullable U remove(N name, Class<U> type) {
-        return remove((Key<N, U>) cached.set(name, type));
-    }
-
-    
-    @Override
-    public Map<Key<N, ? extends T>, T> map() {
-        return this;
-    }
-    
-}
-
-
 @Delegate class ProxiedTokenMap<N, T> implements TokenMap<N, T> {
     
     Map<Key<N, ? extends T>, T> map;
@@ -23,13 +23,37 @@
  */
 package com.karuslabs.commons.util.collection;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
-import java.util.function.Function;
+import java.util.function.*;
+import java.util.stream.*;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 
-public class Trie<V> extends AbstractMap<String, V> {
+public class Trie<V> extends AbstractMap<String, V> implements PrefixMap<V> {
+    
+    public static <V> Trie<V> of(SortedMap<String, ? extends V> map) {
+        if (map.comparator() == null) {
+            return bulkLoad(map.entrySet().iterator());
+        }
+        
+        var trie = new Trie<V>();
+        trie.putAll(map);
+        return trie;
+    }
+    
+    public static <V> Trie<V> bulkLoad(Iterator<? extends Entry<String, ? extends V>> entries) {
+        var loader = new Loader<V>();
+        while (entries.hasNext()) {
+            var entry = entries.next();
+            loader.add(entry.getKey(), entry.getValue());
+        }
+        
+        return loader.trie();
+    }
+    
     
     TrieEntry<V> root;
     int modifications;
@@ -47,49 +71,167 @@ public class Trie<V> extends AbstractMap<String, V> {
     }
     
     
+    @Override
+    public Iterator<Entry<String, V>> prefixIterator(String prefix) {
+        return new EntryIterator(find(prefix));
+    }
+    
+    @Override
+    public Stream<Entry<String, V>> prefixStream(String prefix) {
+        var characteristics = Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prefixIterator(prefix), characteristics), false);
+    }
+    
+    
+    public int prefixCount(String prefix) {
+        var entry = find(prefix);
+        return entry == null ? 0 : entry.size;
+    }
+    
+    public List<String> prefixedKeys(String prefix, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Illegal offset: " + offset);
+            
+        } else if (limit < 0) {
+            throw new IllegalArgumentException("Illegal limit: " + limit);
+        }
+        
+        var keys = new ArrayList<String>(Math.min(limit, 16));
+        var iterator = new EntryIterator(find(prefix), offset);
+        while (keys.size() < limit && iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+        }
+        
+        return keys;
+    }
+    
+    
+    public int rank(String key) {
+        var rank = 0;
+        var entry = root;
+        for (int i = 0; i < key.length(); i++) {
+            if (entry.key != null) {
+                rank++;
+            }
+            
+            var character = key.charAt(i);
+            for (var child : entry.entries) {
+                if (child.character >= character) {
+                    break;
+                }
+                rank += child.size;
+            }
+            
+            entry = entry.get(character);
+            if (entry == null) {
+                break;
+            }
+        }
+        
+        return rank;
+    }
+    
+    public String select(int index) {
+        Objects.checkIndex(index, size);
+        
+        var entry = root;
+        while (entry.key == null || index > 0) {
+            if (entry.key != null) {
+                index--;
+            }
+            
+            for (var child : entry.entries) {
+                if (index < child.size) {
+                    entry = child;
+                    break;
+                }
+                index -= child.size;
+            }
+        }
+        
+        return entry.key;
+    }
+    
+    
+    @Override
     public Set<Entry<String, V>> prefixEntries(String prefix) {
         return prefixed(prefix, entry -> entry, new HashSet<>());
     }
     
+    @Override
     public Set<String> prefixedKeys(String prefix) {
         return prefixed(prefix, entry -> entry.getKey(), new HashSet<>());
     }
     
+    @Override
     public Collection<V> prefixedValues(String prefix) {
         return prefixed(prefix, entry -> entry.getValue(), new ArrayList<>());
     }
     
     
+    public List<String> fuzzy(String key, int distance, int limit) {
+        var levenshtein = new Levenshtein(key, distance, limit);
+        var row = levenshtein.row();
+        if (root.key != null) {
+            levenshtein.match(root.key, row);
+        }
+        
+        fuzzy(root, row, levenshtein);
+        return levenshtein.matches();
+    }
+    
+    void fuzzy(TrieEntry<V> entry, int[] row, Levenshtein levenshtein) {
+        for (var child : entry.entries) {
+            visit(child, row, levenshtein);
+        }
+    }
+    
+    void visit(TrieEntry<V> entry, int[] previous, Levenshtein levenshtein) {
+        var row = levenshtein.next(previous, entry.character);
+        if (entry.key != null) {
+            levenshtein.match(entry.key, row);
+        }
+        
+        if (!levenshtein.prunable(row)) {
+            fuzzy(entry, row, levenshtein);
+        }
+    }
+    
+    
+    public ImmutableTrie<V> freeze() {
+        return ImmutableTrie.copyOf(this);
+    }
+    
+    public void writeTo(WritableByteChannel channel, Function<? super V, byte[]> encoder) throws IOException {
+        freeze().writeTo(channel, encoder);
+    }
+    
+    
     <C extends Collection<T>, T> C prefixed(String prefix, Function<Entry<String, V>, T> mapper, C collection) {
-        var entry = root;
-        for (var character : prefix.toCharArray()) {
-            entry = entry.get(character);
-            if (entry == null) {
-                return collection;
-            }
+        var entry = find(prefix);
+        if (entry != null) {
+            map(entry, mapper, collection);
         }
         
-        map(entry, mapper, collection);
         return collection;
     }
     
+    @Nullable TrieEntry<V> find(String prefix) {
+        var entry = root;
+        for (int i = 0; i < prefix.length() && entry != null; i++) {
+            entry = entry.get(prefix.charAt(i));
+        }
+        
+        return entry;
+    }
+    
     <C extends Collection<T>, T> void map(TrieEntry<V> entry, Function<Entry<String, V>, T> mapper, C leaves) {
         if (entry.key != null) {
             leaves.add(mapper.apply(entry));
         }
         
-        if (entry.ascii != null) {
-            for (var child : entry.ascii) {
-                if (child != null) {
-                    map(child, mapper, leaves);
-                }
-            }
-        }
-        
-        if (entry.expanded != null) {
-            for (var child : entry.expanded.values()) {
-                map(child, mapper, leaves);
-            }
+        for (var child : entry.entries) {
+            map(child, mapper, leaves);
         }
     }
 
@@ -104,22 +246,10 @@ public class Trie<V> extends AbstractMap<String, V> {
             return true;
         }
         
-        if (entry.ascii != null) {
-            for (var child : entry.ascii) {
-                if (child != null && contains(child, value)) {
-                    return true;
-                }
-            }
-            
-        }
-        
-        if (entry.expanded != null) {
-            for (var child : entry.expanded.values()) {
-                if (contains(child, value)) {
-                    return true;
-                }
+        for (var child : entry.entries) {
+            if (contains(child, value)) {
+                return true;
             }
-            
         }
         
         return false;
@@ -137,20 +267,35 @@ public class Trie<V> extends AbstractMap<String, V> {
         return entry == null ? null : entry.getValue();
     }
     
+    @Override
+    public @Nullable V get(CharSequence key, int start, int end) {
+        var entry = getEntry(key, start, end, false);
+        return entry == null ? null : entry.getValue();
+    }
+    
+    @Override
+    public @Nullable V getLowercase(CharSequence key, int start, int end) {
+        var entry = getEntry(key, start, end, true);
+        return entry == null ? null : entry.getValue();
+    }
+    
     @Nullable TrieEntry<V> getEntry(Object key) {
         if (key == null) {
             throw new NullPointerException("Null keys are not permitted in a trie");
         }
         
+        var string = (String) key;
+        return getEntry(string, 0, string.length(), false);
+    }
+    
+    @Nullable TrieEntry<V> getEntry(CharSequence key, int start, int end, boolean lowercase) {
         var entry = root;
-        for (char character : ((String) key).toCharArray()) {
-            entry = entry.get(character);
-            if (entry == null) {
-                return null;
-            }
+        for (int i = start; i < end && entry != null; i++) {
+            var character = key.charAt(i);
+            entry = entry.get(lowercase ? Character.toLowerCase(character) : character);
         }
         
-        return entry.getKey() == null ? null : entry;
+        return entry == null || entry.getKey() == null ? null : entry;
     }
 
         
@@ -164,31 +309,26 @@ public class Trie<V> extends AbstractMap<String, V> {
     @Override
     public @Nullable V put(String key, V value) {
         var entry = root;
-        var array = key.toCharArray();
-        
-        int i = 0;
-        for (; i < array.length - 1; i++) {
-            var next = entry.get(array[i]);
-            if (next == null) {
-                break;
-            }
-            
-            entry = next;
+        for (int i = 0; i < key.length(); i++) {
+            var character = key.charAt(i);
+            var next = entry.get(character);
+            entry = next == null ? entry.add(character) : next;
         }
         
-        for (; i < array.length - 1; i++) {
-            entry = entry.add(array[i]);
-        }
-        
-        var replaced = entry.set(array[array.length - 1], key, value);
         modifications++;
         
-        if (replaced == null) {
+        if (entry.key == null) {
+            entry.key = key;
+            entry.value = value;
+            for (var parent = entry; parent != null; parent = parent.parent) {
+                parent.size++;
+            }
+            
             size++;
             return null;
             
         } else {
-            return replaced.value;
+            return entry.setValue(value);
         }
     }
 
@@ -200,18 +340,17 @@ public class Trie<V> extends AbstractMap<String, V> {
     }
     
     @Nullable V removeEntry(TrieEntry<V> entry) {
-        var removed = entry;
-        var value = removed.value;
+        var value = entry.value;
+        entry.key = null;
+        entry.value = null;
         
-        if (entry.children == 0) {
-            do {
-                entry.parent.remove(entry.character);
-                entry = entry.parent;
-            } while (entry.key == null && entry != root && entry.parent.children == 1);
-            
-        } else {
-            entry.key = null;
-            entry.value = null;
+        for (var parent = entry; parent != null; parent = parent.parent) {
+            parent.size--;
+        }
+        
+        while (entry != root && entry.key == null && entry.children == 0) {
+            entry.parent.remove(entry.character);
+            entry = entry.parent;
         }
         
         size--;
@@ -224,6 +363,8 @@ public class Trie<V> extends AbstractMap<String, V> {
     public void clear() {
         size = 0;
         modifications++;
+        root.key = null;
+        root.value = null;
         root.clear();
     }
     
@@ -266,6 +407,88 @@ public class Trie<V> extends AbstractMap<String, V> {
     }
     
     
+    // Keys arrive in ascending order, so a node is complete once a key no longer
+    // shares its prefix. Completed nodes wait in pending until their parent is
+    // closed and adopts them in a single array.
+    static class Loader<V> {
+        
+        final Trie<V> trie = new Trie<>();
+        TrieEntry<V>[] path = (TrieEntry<V>[]) new TrieEntry<?>[16];
+        int[] marks = new int[16];
+        TrieEntry<V>[] pending = (TrieEntry<V>[]) new TrieEntry<?>[16];
+        int count = 0;
+        @Nullable String previous;
+        
+        
+        Loader() {
+            path[0] = trie.root;
+        }
+        
+        
+        void add(String key, V value) {
+            if (key == null) {
+                throw new NullPointerException("Null keys are not permitted in a trie");
+                
+            } else if (previous != null && previous.compareTo(key) >= 0) {
+                throw new IllegalArgumentException("Keys must be unique and in ascending order, \"" + key + "\" follows \"" + previous + "\"");
+            }
+            
+            var common = 0;
+            if (previous != null) {
+                var length = Math.min(previous.length(), key.length());
+                while (common < length && previous.charAt(common) == key.charAt(common)) {
+                    common++;
+                }
+                
+                close(previous.length(), common);
+            }
+            
+            if (key.length() >= path.length) {
+                var capacity = Math.max(key.length() + 1, path.length * 2);
+                path = Arrays.copyOf(path, capacity);
+                marks = Arrays.copyOf(marks, capacity);
+            }
+            
+            for (int depth = common; depth < key.length(); depth++) {
+                path[depth + 1] = new TrieEntry<>(key.charAt(depth), path[depth]);
+                marks[depth + 1] = count;
+            }
+            
+            var entry = path[key.length()];
+            entry.key = key;
+            entry.value = value;
+            entry.size = 1;
+            
+            trie.size++;
+            previous = key;
+        }
+        
+        void close(int depth, int common) {
+            for (; depth > common; depth--) {
+                var entry = path[depth];
+                if (marks[depth] < count) {
+                    entry.adopt(Arrays.copyOfRange(pending, marks[depth], count));
+                    count = marks[depth];
+                }
+                
+                if (depth > 0) {
+                    if (count == pending.length) {
+                        pending = Arrays.copyOf(pending, count * 2);
+                    }
+                    pending[count++] = entry;
+                }
+            }
+        }
+        
+        Trie<V> trie() {
+            close(previous == null ? 0 : previous.length(), -1);
+            Arrays.fill(pending, null);
+            return trie;
+        }
+        
+    }
+    
+    
     class EntrySet extends AbstractSet<Entry<String, V>> {
         
         @Override
@@ -295,6 +518,11 @@ public class Trie<V> extends AbstractMap<String, V> {
             return new EntryIterator();
         }
         
+        @Override
+        public Spliterator<Entry<String, V>> spliterator() {
+            return new TrieSpliterator<>(entry -> entry, Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+        
         @Override
         public int size() {
             return size;
@@ -318,6 +546,11 @@ public class Trie<V> extends AbstractMap<String, V> {
         public Iterator<String> iterator() {
             return new KeyIterator();
         }
+        
+        @Override
+        public Spliterator<String> spliterator() {
+            return new TrieSpliterator<>(entry -> entry.key, Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
 
         @Override
         public int size() {
@@ -337,6 +570,11 @@ public class Trie<V> extends AbstractMap<String, V> {
         public Iterator<V> iterator() {
             return new ValueIterator();
         }
+        
+        @Override
+        public Spliterator<V> spliterator() {
+            return new TrieSpliterator<>(entry -> entry.value, 0);
+        }
 
         @Override
         public int size() {
@@ -346,6 +584,169 @@ public class Trie<V> extends AbstractMap<String, V> {
     }
     
     
+    class TrieSpliterator<T> implements Spliterator<T> {
+        
+        final Function<TrieEntry<V>, T> mapper;
+        final int characteristics;
+        // An entry whose key is reported on its own, its children having been
+        // moved into entries when the subtree was split
+        @Nullable TrieEntry<V> entry;
+        TrieEntry<V>[] entries;
+        int low;
+        int high;
+        long size;
+        @Nullable Deque<TrieEntry<V>> stack;
+        int expectedModifications;
+        
+        
+        TrieSpliterator(Function<TrieEntry<V>, T> mapper, int characteristics) {
+            this(mapper, characteristics, (TrieEntry<V>[]) new TrieEntry<?>[] {root}, 0, 1, root.size);
+        }
+        
+        TrieSpliterator(Function<TrieEntry<V>, T> mapper, int characteristics, TrieEntry<V>[] entries, int low, int high, long size) {
+            this.mapper = mapper;
+            this.characteristics = characteristics | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+            this.entry = null;
+            this.entries = entries;
+            this.low = low;
+            this.high = high;
+            this.size = size;
+            this.stack = null;
+            this.expectedModifications = modifications;
+        }
+        
+        
+        @Override
+        public @Nullable Spliterator<T> trySplit() {
+            if (stack != null) {
+                return null;
+            }
+            
+            while (entry == null && high - low == 1) {
+                var parent = entries[low];
+                entry = parent.key == null ? null : parent;
+                entries = parent.entries;
+                low = 0;
+                high = entries.length;
+            }
+            
+            if (high - low == 0) {
+                return null;
+                
+            } else if (high - low == 1) {
+                var split = new TrieSpliterator<>(mapper, characteristics, entries, low, low, 1);
+                split.entry = entry;
+                entry = null;
+                size--;
+                return split;
+            }
+            
+            // The entry precedes its children and is hence moved into the prefix
+            var half = size / 2;
+            var middle = low + 1;
+            long prefix = (entry == null ? 0 : 1) + entries[low].size;
+            while (middle < high - 1 && prefix + entries[middle].size <= half) {
+                prefix += entries[middle++].size;
+            }
+            
+            var split = new TrieSpliterator<>(mapper, characteristics, entries, low, middle, prefix);
+            split.entry = entry;
+            entry = null;
+            low = middle;
+            size -= prefix;
+            return split;
+        }
+        
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (stack == null) {
+                stack = new ArrayDeque<>();
+                for (int i = high - 1; i >= low; i--) {
+                    stack.add(entries[i]);
+                }
+                low = high;
+            }
+            
+            if (entry != null) {
+                var next = entry;
+                entry = null;
+                return accept(next, action);
+            }
+            
+            while (!stack.isEmpty()) {
+                var next = stack.pollLast();
+                push(next);
+                if (next.key != null) {
+                    return accept(next, action);
+                }
+            }
+            
+            return false;
+        }
+        
+        boolean accept(TrieEntry<V> entry, Consumer<? super T> action) {
+            size--;
+            action.accept(mapper.apply(entry));
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+            
+            return true;
+        }
+        
+        void push(TrieEntry<V> entry) {
+            for (int i = entry.entries.length - 1; i >= 0; i--) {
+                stack.add(entry.entries[i]);
+            }
+        }
+        
+        
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (stack != null) {
+                while (tryAdvance(action));
+                return;
+            }
+            
+            if (entry != null) {
+                action.accept(mapper.apply(entry));
+                entry = null;
+            }
+            
+            for (; low < high; low++) {
+                traverse(entries[low], action);
+            }
+            
+            size = 0;
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+        }
+        
+        void traverse(TrieEntry<V> entry, Consumer<? super T> action) {
+            if (entry.key != null) {
+                action.accept(mapper.apply(entry));
+            }
+            
+            for (var child : entry.entries) {
+                traverse(child, action);
+            }
+        }
+        
+        
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+        
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+        
+    }
+    
     abstract class TrieIterator<T> implements Iterator<T> {
         
         Deque<TrieEntry<V>> stack;
@@ -354,12 +755,51 @@ public class Trie<V> extends AbstractMap<String, V> {
         
         
         TrieIterator() {
+            this(root);
+        }
+        
+        TrieIterator(@Nullable TrieEntry<V> entry) {
             stack = new ArrayDeque<>();
-            children(root);
+            if (entry != null && entry.key != null) {
+                stack.add(entry);
+                
+            } else if (entry != null) {
+                children(entry);
+            }
+            
             returned = null;
             expectedModifications = modifications;
         }
         
+        TrieIterator(@Nullable TrieEntry<V> entry, int offset) {
+            this(null);
+            // Subtrees that lie entirely before the offset are skipped using
+            // their sizes. The siblings after the subtree that contains the
+            // offset are pushed before descending into it.
+            while (entry != null) {
+                if (entry.key != null) {
+                    if (offset == 0) {
+                        stack.add(entry);
+                        return;
+                    }
+                    offset--;
+                }
+                
+                var children = entry.entries;
+                entry = null;
+                for (int i = 0; i < children.length; i++) {
+                    if (offset < children[i].size) {
+                        for (int j = children.length - 1; j > i; j--) {
+                            stack.add(children[j]);
+                        }
+                        entry = children[i];
+                        break;
+                    }
+                    offset -= children[i].size;
+                }
+            }
+        }
+        
         
         @Override
         public T next() {
@@ -387,21 +827,14 @@ public class Trie<V> extends AbstractMap<String, V> {
         }
 
         final void children(TrieEntry<V> entry) {
-            if (entry.ascii != null) {
-                for (var child : entry.ascii) {
-                    if (child != null) {
-                        stack.add(child);
-                    }
-                }
-            }
-            
-            if (entry.expanded != null) {
-                for (var child : entry.expanded.values()) {
-                    stack.add(child);
-                }
+            // Entries are popped from the end of the stack, hence children are
+            // pushed in descending order.
+            var children = entry.entries;
+            for (int i = children.length - 1; i >= 0; i--) {
+                stack.add(children[i]);
             }
         }
-                
+        
         abstract T get(TrieEntry<V> entry);
         
         
@@ -428,6 +861,16 @@ public class Trie<V> extends AbstractMap<String, V> {
     }
     
     class EntryIterator extends TrieIterator<Entry<String, V>> {
+        
+        EntryIterator() {}
+        
+        EntryIterator(@Nullable TrieEntry<V> entry) {
+            super(entry);
+        }
+        
+        EntryIterator(@Nullable TrieEntry<V> entry, int offset) {
+            super(entry, offset);
+        }
 
         @Override
         Entry<String, V> get(TrieEntry<V> entry) {
@@ -33,15 +33,22 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 final @ValueType class TrieEntry<T> implements Entry<String, T> {
     
-    static final int PRINTABLE = 95;
-    static final int OFFSET = 32;
+    static final int ASCII = 128;
+    static final char[] NONE = new char[0];
+    static final TrieEntry<?>[] EMPTY = new TrieEntry<?>[0];
     
     
     final char character;
     @Nullable TrieEntry<T> parent;
-    @Nullable TrieEntry<T>[] ascii;
-    @Nullable Map<Character, TrieEntry<T>> expanded;
+    // Bitmaps of the ASCII children, 0 - 63 in low and 64 - 127 in high
+    long low;
+    long high;
+    // The sorted non-ASCII children
+    char[] expanded;
+    // The ASCII children followed by the non-ASCII children, in ascending order
+    TrieEntry<T>[] entries;
     int children;
+    int size;
     
     @Nullable String key;
     @Nullable T value;
@@ -54,21 +61,34 @@ final @ValueType class TrieEntry<T> implements Entry<String, T> {
     TrieEntry(char character, @Nullable TrieEntry<T> parent, String key, T value) {
         this.character = character;
         this.parent = parent;
+        this.expanded = NONE;
+        this.entries = (TrieEntry<T>[]) EMPTY;
         this.children = 0;
+        this.size = key == null ? 0 : 1;
         this.key = key;
         this.value = value;
     }
     
     
     @Nullable TrieEntry<T> get(char character) {
-        if (ascii != null && 31 < character && character < 127) {
-            return ascii[character - OFFSET];
+        var index = index(character);
+        return index < 0 ? null : entries[index];
+    }
+    
+    int index(char character) {
+        if (character < 64) {
+            var index = Long.bitCount(low & ((1L << character) - 1));
+            return (low & (1L << character)) != 0 ? index : -index - 1;
             
-        } else if (expanded != null) {
-            return expanded.get(character);
+        } else if (character < ASCII) {
+            var bit = 1L << (character - 64);
+            var index = Long.bitCount(low) + Long.bitCount(high & (bit - 1));
+            return (high & bit) != 0 ? index : -index - 1;
             
         } else {
-            return null;
+            var ascii = Long.bitCount(low) + Long.bitCount(high);
+            var index = Arrays.binarySearch(expanded, character);
+            return index >= 0 ? ascii + index : -(ascii - index - 1) - 1;
         }
     }
     
@@ -78,74 +98,129 @@ final @ValueType class TrieEntry<T> implements Entry<String, T> {
     }
     
     @Nullable TrieEntry<T> add(char character, String key, T value) {
-        children++;
-        if (31 < character && character < 127) {
-            if (ascii == null) {
-                ascii = (TrieEntry<T>[]) new TrieEntry<?>[PRINTABLE];
-            }
-            
-            return ascii[character - OFFSET] = new TrieEntry<>(character, this, key, value);
+        var entry = new TrieEntry<>(character, this, key, value);
+        var index = index(character);
+        if (index >= 0) {
+            entries[index] = entry;
             
         } else {
-            if (expanded == null) {
-                expanded = new HashMap<>();
-            }
-            
-            var entry = new TrieEntry(character, this, key, value);
-            expanded.put(character, entry);
-            
-            return entry;
+            insert(-index - 1, entry);
         }
+        
+        return entry;
     }
     
     
     @Nullable TrieEntry<T> set(char character, String key, T value) {
-        TrieEntry<T> old;
-        if (31 < character && character < 127) {
-            if (ascii == null) {
-                ascii = (TrieEntry<T>[]) new TrieEntry<?>[PRINTABLE];
-            }
+        var entry = new TrieEntry<>(character, this, key, value);
+        var index = index(character);
+        if (index >= 0) {
+            var old = entries[index];
+            entries[index] = entry;
+            return old;
+            
+        } else {
+            insert(-index - 1, entry);
+            return null;
+        }
+    }
+    
+    void insert(int index, TrieEntry<T> entry) {
+        var character = entry.character;
+        if (character < 64) {
+            low |= 1L << character;
+            
+        } else if (character < ASCII) {
+            high |= 1L << (character - 64);
             
-            old = ascii[character - OFFSET];
-            ascii[character - OFFSET] = new TrieEntry<>(character, this, key, value);
-
         } else {
-            if (expanded == null) {
-                expanded = new HashMap<>();
+            var position = index - (Long.bitCount(low) + Long.bitCount(high));
+            var expanded = new char[this.expanded.length + 1];
+            System.arraycopy(this.expanded, 0, expanded, 0, position);
+            System.arraycopy(this.expanded, position, expanded, position + 1, this.expanded.length - position);
+            expanded[position] = character;
+            this.expanded = expanded;
+        }
+        
+        var entries = Arrays.copyOf(this.entries, this.entries.length + 1);
+        System.arraycopy(this.entries, index, entries, index + 1, this.entries.length - index);
+        entries[index] = entry;
+        this.entries = entries;
+        
+        children++;
+    }
+    
+    
+    void adopt(TrieEntry<T>[] entries) {
+        var expanded = 0;
+        for (var entry : entries) {
+            var character = entry.character;
+            if (character < 64) {
+                low |= 1L << character;
+                
+            } else if (character < ASCII) {
+                high |= 1L << (character - 64);
+                
+            } else {
+                expanded++;
             }
             
-            old = expanded.put(character, new TrieEntry(character, this, key, value));
+            size += entry.size;
         }
         
-        if (old == null) {
-            children++;
+        if (expanded > 0) {
+            this.expanded = new char[expanded];
+            for (int i = 0; i < expanded; i++) {
+                this.expanded[i] = entries[entries.length - expanded + i].character;
+            }
         }
         
-        return old;
+        this.entries = entries;
+        children = entries.length;
     }
     
     
     @Nullable TrieEntry<T> remove(char character) {
-        TrieEntry<T> removed = null;
-        if (ascii != null && 31 < character && character < 127) {
-            removed = ascii[character - OFFSET];
-            ascii[character - OFFSET] = null;
-
-        } else if (expanded != null) {
-            removed = expanded.remove(character);
+        var index = index(character);
+        if (index < 0) {
+            return null;
         }
-
-        if (removed != null) {
-            children--;
+        
+        if (character < 64) {
+            low &= ~(1L << character);
+            
+        } else if (character < ASCII) {
+            high &= ~(1L << (character - 64));
+            
+        } else {
+            var position = Arrays.binarySearch(expanded, character);
+            var expanded = new char[this.expanded.length - 1];
+            System.arraycopy(this.expanded, 0, expanded, 0, position);
+            System.arraycopy(this.expanded, position + 1, expanded, position, expanded.length - position);
+            this.expanded = expanded.length == 0 ? NONE : expanded;
         }
-
+        
+        var removed = entries[index];
+        if (entries.length == 1) {
+            entries = (TrieEntry<T>[]) EMPTY;
+            
+        } else {
+            var entries = Arrays.copyOf(this.entries, this.entries.length - 1);
+            System.arraycopy(this.entries, index + 1, entries, index, entries.length - index);
+            this.entries = entries;
+        }
+        
+        children--;
         return removed;
     }
 
     void clear() {
+        low = 0;
+        high = 0;
+        expanded = NONE;
+        entries = (TrieEntry<T>[]) EMPTY;
         children = 0;
-        ascii = null;
-        expanded = null;
+        size = key == null ? 0 : 1;
     }
     
     
@@ -23,19 +23,26 @@
  */
 package com.karuslabs.commons.util.collection;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 
 
 public class TrieSet extends AbstractSet<String> {
     
     static final Object PRESENT = new Object();
+    static final byte[] EMPTY = new byte[0];
     
     
-    Trie<Object> trie;
+    PrefixMap<Object> trie;
     
     
     public TrieSet() {
-        trie = new Trie<>();
+        this(new Trie<>());
+    }
+    
+    public TrieSet(PrefixMap<Object> trie) {
+        this.trie = trie;
     }
     
     
@@ -43,6 +50,11 @@ public class TrieSet extends AbstractSet<String> {
         return trie.prefixedKeys(prefix);
     }
     
+    
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ImmutableTrie.copyOf(trie).writeTo(channel, value -> EMPTY);
+    }
+    
         
     @Override
     public boolean add(String string) {
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public class AsyncLock implements AsyncHoldable {
+    
+    private final Deque<Waiter> waiters;
+    private final Runnable release;
+    private boolean locked;
+    
+    
+    public AsyncLock() {
+        waiters = new ArrayDeque<>();
+        release = this::release;
+    }
+    
+    
+    @Override
+    public CompletableFuture<Mutex> holdAsync() {
+        return enqueue(new Waiter(false, null));
+    }
+    
+    @Override
+    public CompletableFuture<Mutex> holdAsync(Executor executor) {
+        return enqueue(new Waiter(false, executor));
+    }
+    
+    CompletableFuture<Mutex> enqueue(Waiter waiter) {
+        synchronized (waiters) {
+            if (locked) {
+                waiters.add(waiter);
+                return waiter.future;
+            }
+            
+            locked = true;
+        }
+        
+        waiter.grant(new Grant(release));
+        return waiter.future;
+    }
+    
+    
+    @Override
+    public @Nullable Mutex tryHold() {
+        synchronized (waiters) {
+            if (locked) {
+                return null;
+            }
+            
+            locked = true;
+        }
+        
+        return new Grant(release);
+    }
+    
+    
+    void release() {
+        Waiter next;
+        synchronized (waiters) {
+            do {
+                next = waiters.poll();
+            } while (next != null && next.future.isDone());
+            
+            if (next == null) {
+                locked = false;
+                return;
+            }
+        }
+        
+        next.handoff(new Grant(release));
+    }
+    
+    
+    public boolean isLocked() {
+        synchronized (waiters) {
+            return locked;
+        }
+    }
+    
+    // Includes cancelled waiters that have not yet been skipped
+    public int getQueueLength() {
+        synchronized (waiters) {
+            return waiters.size();
+        }
+    }
+    
+}
+
@@ -0,0 +1,221 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public class AsyncReadWriteLock {
+    
+    private final Deque<Waiter> waiters;
+    private final AsyncReadLock reader;
+    private final AsyncWriteLock writer;
+    private final Runnable releaseRead;
+    private final Runnable releaseWrite;
+    private int readers;
+    private boolean writing;
+    
+    
+    public AsyncReadWriteLock() {
+        waiters = new ArrayDeque<>();
+        reader = new AsyncReadLock(this);
+        writer = new AsyncWriteLock(this);
+        releaseRead = () -> release(true);
+        releaseWrite = () -> release(false);
+    }
+    
+    
+    public AsyncReadLock readLock() {
+        return reader;
+    }
+    
+    public AsyncWriteLock writeLock() {
+        return writer;
+    }
+    
+    
+    // Waiters are granted in FIFO order. A reader that arrives while a writer
+    // is queued waits behind the writer so that writers are not starved.
+    CompletableFuture<Mutex> enqueue(Waiter waiter) {
+        synchronized (waiters) {
+            if (!waiters.isEmpty() || !available(waiter.shared)) {
+                waiters.add(waiter);
+                return waiter.future;
+            }
+            
+            acquire(waiter.shared);
+        }
+        
+        waiter.grant(new Grant(waiter.shared ? releaseRead : releaseWrite));
+        return waiter.future;
+    }
+    
+    @Nullable Mutex tryHold(boolean shared) {
+        synchronized (waiters) {
+            if (!waiters.isEmpty() || !available(shared)) {
+                return null;
+            }
+            
+            acquire(shared);
+        }
+        
+        return new Grant(shared ? releaseRead : releaseWrite);
+    }
+    
+    
+    void release(boolean shared) {
+        synchronized (waiters) {
+            if (shared) {
+                readers--;
+                
+            } else {
+                writing = false;
+            }
+        }
+        
+        while (true) {
+            Waiter next;
+            synchronized (waiters) {
+                next = next();
+            }
+            
+            if (next == null) {
+                return;
+            }
+            
+            next.handoff(new Grant(next.shared ? releaseRead : releaseWrite));
+        }
+    }
+    
+    @Nullable Waiter next() {
+        Waiter next;
+        while ((next = waiters.peek()) != null) {
+            if (next.future.isDone()) {
+                waiters.poll();
+                
+            } else if (available(next.shared)) {
+                acquire(next.shared);
+                return waiters.poll();
+                
+            } else {
+                return null;
+            }
+        }
+        
+        return null;
+    }
+    
+    
+    boolean available(boolean shared) {
+        return !writing && (shared || readers == 0);
+    }
+    
+    void acquire(boolean shared) {
+        if (shared) {
+            readers++;
+            
+        } else {
+            writing = true;
+        }
+    }
+    
+    
+    public int getReadLockCount() {
+        synchronized (waiters) {
+            return readers;
+        }
+    }
+    
+    public boolean isWriteLocked() {
+        synchronized (waiters) {
+            return writing;
+        }
+    }
+    
+    // Includes cancelled waiters that have not yet been skipped
+    public int getQueueLength() {
+        synchronized (waiters) {
+            return waiters.size();
+        }
+    }
+    
+    
+    public static class AsyncReadLock implements AsyncHoldable {
+        
+        private final AsyncReadWriteLock lock;
+        
+        
+        AsyncReadLock(AsyncReadWriteLock lock) {
+            this.lock = lock;
+        }
+        
+        
+        @Override
+        public CompletableFuture<Mutex> holdAsync() {
+            return lock.enqueue(new Waiter(true, null));
+        }
+        
+        @Override
+        public CompletableFuture<Mutex> holdAsync(Executor executor) {
+            return lock.enqueue(new Waiter(true, executor));
+        }
+        
+        @Override
+        public @Nullable Mutex tryHold() {
+            return lock.tryHold(true);
+        }
+        
+    }
+    
+    public static class AsyncWriteLock implements AsyncHoldable {
+        
+        private final AsyncReadWriteLock lock;
+        
+        
+        AsyncWriteLock(AsyncReadWriteLock lock) {
+            this.lock = lock;
+        }
+        
+        
+        @Override
+        public CompletableFuture<Mutex> holdAsync() {
+            return lock.enqueue(new Waiter(false, null));
+        }
+        
+        @Override
+        public CompletableFuture<Mutex> holdAsync(Executor executor) {
+            return lock.enqueue(new Waiter(false, executor));
+        }
+        
+        @Override
+        public @Nullable Mutex tryHold() {
+            return lock.tryHold(false);
+        }
+        
+    }
+    
+}
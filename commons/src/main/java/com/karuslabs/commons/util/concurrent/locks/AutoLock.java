@@ -23,11 +23,21 @@
  */
 package com.karuslabs.commons.util.concurrent.locks;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 
 public class AutoLock extends ReentrantLock implements Holdable {
     
+    public static AutoLock instrumented(String name) {
+        return instrumented(name, false);
+    }
+    
+    public static AutoLock instrumented(String name, boolean fair) {
+        return new InstrumentedLock(LockRegistry.registry().register(name), fair);
+    }
+    
+    
     private final Mutex mutex;
     
     
@@ -53,4 +63,83 @@ public class AutoLock extends ReentrantLock implements Holdable {
         return mutex;
     }
     
-}
\ No newline at end of file
+}
+
+
+// Records the statistics of a lock. Holds are timed from the outermost
+// acquisition to the outermost release since the lock is reentrant.
+class InstrumentedLock extends AutoLock {
+    
+    final LockStatistics statistics;
+    long acquired;
+    
+    
+    InstrumentedLock(LockStatistics statistics, boolean fair) {
+        super(fair);
+        this.statistics = statistics;
+    }
+    
+    
+    @Override
+    public void lock() {
+        var start = contend();
+        super.lock();
+        acquire(start);
+    }
+    
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        var start = contend();
+        super.lockInterruptibly();
+        acquire(start);
+    }
+    
+    @Override
+    public boolean tryLock() {
+        var start = System.nanoTime();
+        if (super.tryLock()) {
+            acquire(start);
+            return true;
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+        var start = contend();
+        if (super.tryLock(timeout, unit)) {
+            acquire(start);
+            return true;
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public void unlock() {
+        if (getHoldCount() == 1) {
+            statistics.release(System.nanoTime() - acquired);
+        }
+        
+        super.unlock();
+    }
+    
+    
+    long contend() {
+        if (isLocked() && !isHeldByCurrentThread()) {
+            statistics.contend(getQueueLength() + 1);
+        }
+        
+        return System.nanoTime();
+    }
+    
+    void acquire(long start) {
+        var now = System.nanoTime();
+        statistics.acquire(now - start);
+        if (getHoldCount() == 1) {
+            acquired = now;
+        }
+    }
+    
+}
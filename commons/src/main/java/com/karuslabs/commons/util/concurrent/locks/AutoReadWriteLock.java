@@ -34,6 +34,17 @@ import java.util.concurrent.locks.ReentrantReadWriteLock.*;
 
 public class AutoReadWriteLock extends ReentrantReadWriteLock {
     
+    public static AutoReadWriteLock instrumented(String name) {
+        return instrumented(name, false);
+    }
+    
+    // The read and write locks are registered as "name.read" and "name.write"
+    public static AutoReadWriteLock instrumented(String name, boolean fair) {
+        var registry = LockRegistry.registry();
+        return new InstrumentedReadWriteLock(registry.register(name + ".read"), registry.register(name + ".write"), fair);
+    }
+    
+    
     private final AutoReadLock reader;
     private final AutoWriteLock writer;
     
@@ -194,4 +205,221 @@ public class AutoReadWriteLock extends ReentrantReadWriteLock {
         
     }
     
-}
\ No newline at end of file
+}
+
+
+class InstrumentedReadWriteLock extends AutoReadWriteLock {
+    
+    private final InstrumentedReadLock reader;
+    private final InstrumentedWriteLock writer;
+    
+    
+    InstrumentedReadWriteLock(LockStatistics reads, LockStatistics writes, boolean fair) {
+        super(fair);
+        reader = new InstrumentedReadLock(this, super.readLock(), reads);
+        writer = new InstrumentedWriteLock(this, super.writeLock(), writes);
+    }
+    
+    
+    @Override
+    public AutoReadLock readLock() {
+        return reader;
+    }
+    
+    @Override
+    public AutoWriteLock writeLock() {
+        return writer;
+    }
+    
+    
+    // Holds are timed from each thread's outermost acquisition to its outermost
+    // release since several threads may hold the read lock
+    static class InstrumentedReadLock extends AutoReadLock {
+        
+        final InstrumentedReadWriteLock owner;
+        final LockStatistics statistics;
+        final ThreadLocal<long[]> acquired;
+        final Mutex mutex;
+        
+        
+        InstrumentedReadLock(InstrumentedReadWriteLock owner, ReadLock lock, LockStatistics statistics) {
+            super(owner, lock);
+            this.owner = owner;
+            this.statistics = statistics;
+            this.acquired = ThreadLocal.withInitial(() -> new long[1]);
+            this.mutex = this::unlock;
+        }
+        
+        
+        @Override
+        public Mutex hold() {
+            lock();
+            return mutex;
+        }
+        
+        @Override
+        public Mutex holdInterruptibly() throws InterruptedException {
+            lockInterruptibly();
+            return mutex;
+        }
+        
+        
+        @Override
+        public void lock() {
+            var start = contend();
+            super.lock();
+            acquire(start);
+        }
+        
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            var start = contend();
+            super.lockInterruptibly();
+            acquire(start);
+        }
+        
+        @Override
+        public boolean tryLock() {
+            var start = System.nanoTime();
+            if (super.tryLock()) {
+                acquire(start);
+                return true;
+            }
+            
+            return false;
+        }
+        
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            var start = contend();
+            if (super.tryLock(timeout, unit)) {
+                acquire(start);
+                return true;
+            }
+            
+            return false;
+        }
+        
+        @Override
+        public void unlock() {
+            if (owner.getReadHoldCount() == 1) {
+                statistics.release(System.nanoTime() - acquired.get()[0]);
+            }
+            
+            super.unlock();
+        }
+        
+        
+        long contend() {
+            if (owner.isWriteLocked() && !owner.isWriteLockedByCurrentThread()) {
+                statistics.contend(owner.getQueueLength() + 1);
+            }
+            
+            return System.nanoTime();
+        }
+        
+        void acquire(long start) {
+            var now = System.nanoTime();
+            statistics.acquire(now - start);
+            if (owner.getReadHoldCount() == 1) {
+                acquired.get()[0] = now;
+            }
+        }
+        
+    }
+    
+    
+    static class InstrumentedWriteLock extends AutoWriteLock {
+        
+        final InstrumentedReadWriteLock owner;
+        final LockStatistics statistics;
+        final Mutex mutex;
+        long acquired;
+        
+        
+        InstrumentedWriteLock(InstrumentedReadWriteLock owner, WriteLock lock, LockStatistics statistics) {
+            super(owner, lock);
+            this.owner = owner;
+            this.statistics = statistics;
+            this.mutex = this::unlock;
+        }
+        
+        
+        @Override
+        public Mutex hold() {
+            lock();
+            return mutex;
+        }
+        
+        @Override
+        public Mutex holdInterruptibly() throws InterruptedException {
+            lockInterruptibly();
+            return mutex;
+        }
+        
+        
+        @Override
+        public void lock() {
+            var start = contend();
+            super.lock();
+            acquire(start);
+        }
+        
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            var start = contend();
+            super.lockInterruptibly();
+            acquire(start);
+        }
+        
+        @Override
+        public boolean tryLock() {
+            var start = System.nanoTime();
+            if (super.tryLock()) {
+                acquire(start);
+                return true;
+            }
+            
+            return false;
+        }
+        
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            var start = contend();
+            if (super.tryLock(timeout, unit)) {
+                acquire(start);
+                return true;
+            }
+            
+            return false;
+        }
+        
+        @Override
+        public void unlock() {
+            if (owner.getWriteHoldCount() == 1) {
+                statistics.release(System.nanoTime() - acquired);
+            }
+            
+            super.unlock();
+        }
+        
+        
+        long contend() {
+            if (!owner.isWriteLockedByCurrentThread() && (owner.isWriteLocked() || owner.getReadLockCount() > 0)) {
+                statistics.contend(owner.getQueueLength() + 1);
+            }
+            
+            return System.nanoTime();
+        }
+        
+        void acquire(long start) {
+            var now = System.nanoTime();
+            statistics.acquire(now - start);
+            if (owner.getWriteHoldCount() == 1) {
+                acquired = now;
+            }
+        }
+        
+    }
+    
+}
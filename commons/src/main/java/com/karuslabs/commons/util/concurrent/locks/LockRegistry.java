@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import com.karuslabs.commons.util.concurrent.locks.LockStatistics.Snapshot;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+public class LockRegistry {
+    
+    static final LockRegistry REGISTRY = new LockRegistry();
+    
+    
+    public static LockRegistry registry() {
+        return REGISTRY;
+    }
+    
+    
+    final Map<String, LockStatistics> statistics;
+    
+    
+    public LockRegistry() {
+        statistics = new ConcurrentHashMap<>();
+    }
+    
+    
+    // Locks registered under the same name share their statistics
+    public LockStatistics register(String name) {
+        return statistics.computeIfAbsent(name, LockStatistics::new);
+    }
+    
+    public @Nullable LockStatistics get(String name) {
+        return statistics.get(name);
+    }
+    
+    public void unregister(String name) {
+        statistics.remove(name);
+    }
+    
+    
+    public SortedMap<String, Snapshot> snapshot() {
+        var snapshots = new TreeMap<String, Snapshot>();
+        for (var entry : statistics.values()) {
+            snapshots.put(entry.name(), entry.snapshot());
+        }
+        
+        return snapshots;
+    }
+    
+    public void dump(Path file) throws IOException {
+        var lines = new ArrayList<String>();
+        for (var snapshot : snapshot().values()) {
+            lines.add(snapshot.toString());
+        }
+        
+        Files.write(file, lines);
+    }
+    
+    public void reset() {
+        for (var entry : statistics.values()) {
+            entry.reset();
+        }
+    }
+    
+}
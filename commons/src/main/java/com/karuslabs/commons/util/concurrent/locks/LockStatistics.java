@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.*;
+
+
+public final class LockStatistics {
+    
+    final String name;
+    final LongAdder acquisitions;
+    final LongAdder contentions;
+    final LongAccumulator queue;
+    final Histogram waits;
+    final Histogram holds;
+    
+    
+    LockStatistics(String name) {
+        this.name = name;
+        this.acquisitions = new LongAdder();
+        this.contentions = new LongAdder();
+        this.queue = new LongAccumulator(Math::max, 0);
+        this.waits = new Histogram();
+        this.holds = new Histogram();
+    }
+    
+    
+    void contend(int queued) {
+        contentions.increment();
+        queue.accumulate(queued);
+    }
+    
+    void acquire(long wait) {
+        acquisitions.increment();
+        waits.record(wait);
+    }
+    
+    void release(long held) {
+        holds.record(held);
+    }
+    
+    
+    public Snapshot snapshot() {
+        return new Snapshot(name, acquisitions.sum(), contentions.sum(), (int) queue.get(), waits.snapshot(), holds.snapshot());
+    }
+    
+    public void reset() {
+        acquisitions.reset();
+        contentions.reset();
+        queue.reset();
+        waits.reset();
+        holds.reset();
+    }
+    
+    
+    public String name() {
+        return name;
+    }
+    
+    
+    // Bucket i counts the durations in nanoseconds whose highest set bit is bit
+    // i - 1, i.e. [2^(i - 1), 2^i), bucket 0 counts durations of 0
+    static final class Histogram {
+        
+        final LongAdder[] buckets;
+        
+        
+        Histogram() {
+            buckets = new LongAdder[64];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+        
+        
+        void record(long nanos) {
+            buckets[64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+        }
+        
+        long[] snapshot() {
+            var counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            
+            return counts;
+        }
+        
+        void reset() {
+            for (var bucket : buckets) {
+                bucket.reset();
+            }
+        }
+        
+    }
+    
+    
+    public static final class Snapshot {
+        
+        final String name;
+        final long acquisitions;
+        final long contentions;
+        final int queue;
+        final long[] waits;
+        final long[] holds;
+        
+        
+        Snapshot(String name, long acquisitions, long contentions, int queue, long[] waits, long[] holds) {
+            this.name = name;
+            this.acquisitions = acquisitions;
+            this.contentions = contentions;
+            this.queue = queue;
+            this.waits = waits;
+            this.holds = holds;
+        }
+        
+        
+        public String name() {
+            return name;
+        }
+        
+        public long acquisitions() {
+            return acquisitions;
+        }
+        
+        public long contentions() {
+            return contentions;
+        }
+        
+        public int maximumQueueLength() {
+            return queue;
+        }
+        
+        
+        public long waitPercentile(double percentile) {
+            return percentile(waits, percentile);
+        }
+        
+        public long[] waits() {
+            return waits.clone();
+        }
+        
+        
+        public long holdPercentile(double percentile) {
+            return percentile(holds, percentile);
+        }
+        
+        public long[] holds() {
+            return holds.clone();
+        }
+        
+        
+        // Returns the exclusive upper bound in nanoseconds of the bucket that
+        // contains the percentile
+        static long percentile(long[] buckets, double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Illegal percentile: " + percentile);
+            }
+            
+            var total = 0L;
+            for (var count : buckets) {
+                total += count;
+            }
+            
+            var rank = (long) Math.ceil(total * percentile / 100);
+            var seen = 0L;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return i == 63 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            
+            return 0;
+        }
+        
+        
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            
+            if (!(other instanceof Snapshot)) {
+                return false;
+            }
+            
+            var snapshot = (Snapshot) other;
+            return name.equals(snapshot.name) && acquisitions == snapshot.acquisitions && contentions == snapshot.contentions
+                && queue == snapshot.queue && Arrays.equals(waits, snapshot.waits) && Arrays.equals(holds, snapshot.holds);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Long.hashCode(acquisitions);
+        }
+        
+        @Override
+        public String toString() {
+            return name + ": acquisitions=" + acquisitions + ", contentions=" + contentions + ", maximum queue length=" + queue
+                 + ", wait p50/p99 < " + waitPercentile(50) + "/" + waitPercentile(99) + "ns"
+                 + ", hold p50/p99 < " + holdPercentile(50) + "/" + holdPercentile(99) + "ns";
+        }
+        
+    }
+    
+}
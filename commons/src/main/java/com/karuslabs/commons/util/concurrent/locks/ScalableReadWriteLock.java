@@ -0,0 +1,364 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import com.karuslabs.commons.util.concurrent.locks.AutoReadWriteLock.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantReadWriteLock.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+// A BRAVO-style lock. While the lock is biased towards readers, a reader that
+// holds the lock through hold() increments a padded counter selected by its
+// thread instead of the shared AQS state. A writer acquires the underlying write
+// lock, revokes the bias and waits for the counters to drain. Re-biasing is then
+// inhibited for a multiple of the time the revocation took, which bounds the
+// cost of revocations on writers.
+//
+// Readers that acquire the lock through lock() and unlock() always use the
+// underlying lock since they do not carry the counter they would release.
+//
+// A writer waits for the counters while holding the underlying write lock, so a
+// thread which already holds the lock through its counter must not fall back to
+// the underlying lock. Nested holds instead increment the same counter again.
+public class ScalableReadWriteLock extends AutoReadWriteLock {
+    
+    // Counters are 128 bytes apart to avoid false sharing, including adjacent
+    // cache line prefetching
+    static final int STRIDE = 16;
+    static final int INHIBITION = 9;
+    
+    
+    final AtomicLongArray readers;
+    final int mask;
+    final ThreadLocal<Hold> holds;
+    volatile boolean bias;
+    long inhibited;
+    
+    private final ScalableReadLock reader;
+    private final ScalableWriteLock writer;
+    
+    
+    public ScalableReadWriteLock() {
+        this(false);
+    }
+    
+    public ScalableReadWriteLock(boolean fair) {
+        this(fair, Runtime.getRuntime().availableProcessors() * 2);
+    }
+    
+    ScalableReadWriteLock(boolean fair, int slots) {
+        super(fair);
+        var length = slots <= 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        
+        readers = new AtomicLongArray(length * STRIDE);
+        mask = length - 1;
+        holds = ThreadLocal.withInitial(Hold::new);
+        
+        bias = true;
+        inhibited = 0;
+        reader = new ScalableReadLock(this, super.readLock());
+        writer = new ScalableWriteLock(this, super.writeLock());
+    }
+    
+    
+    @Override
+    public ScalableReadLock readLock() {
+        return reader;
+    }
+    
+    @Override
+    public ScalableWriteLock writeLock() {
+        return writer;
+    }
+    
+    
+    public boolean isBiased() {
+        return bias;
+    }
+    
+    
+    @Override
+    public int getReadLockCount() {
+        long count = super.getReadLockCount();
+        for (int i = 0; i < readers.length(); i += STRIDE) {
+            count += readers.get(i);
+        }
+        
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public int getReadHoldCount() {
+        return super.getReadHoldCount() + holds.get().depth;
+    }
+    
+    
+    @Nullable Mutex fast() {
+        var hold = holds.get();
+        if (hold.depth > 0) {
+            readers.getAndIncrement(hold.index);
+            hold.depth++;
+            return hold;
+        }
+        
+        if (!bias) {
+            return null;
+        }
+        
+        readers.getAndIncrement(hold.index);
+        // A writer which revoked the bias may already have inspected the counter
+        if (bias) {
+            hold.depth++;
+            return hold;
+        }
+        
+        readers.getAndDecrement(hold.index);
+        return null;
+    }
+    
+    int slot() {
+        var hash = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+    
+    // Must be called while holding the underlying read lock
+    void rebias() {
+        if (!bias && System.nanoTime() - inhibited >= 0 && !isWriteLockedByCurrentThread()) {
+            bias = true;
+        }
+    }
+    
+    // Must be called while holding the underlying write lock
+    boolean revoke(long deadline, boolean timed) {
+        if (!bias) {
+            return true;
+        }
+        
+        bias = false;
+        var start = System.nanoTime();
+        for (int i = 0; i < readers.length(); i += STRIDE) {
+            for (int spins = 0; readers.get(i) != 0; spins++) {
+                if (timed && System.nanoTime() - deadline >= 0) {
+                    bias = true;
+                    return false;
+                }
+                
+                if (spins < 64) {
+                    Thread.onSpinWait();
+                    
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+        
+        var now = System.nanoTime();
+        inhibited = now + (now - start) * INHIBITION;
+        return true;
+    }
+    
+    
+    // The counter that the current thread holds the lock through, if any
+    class Hold implements Mutex {
+        
+        final int index = slot() * STRIDE;
+        int depth;
+        
+        @Override
+        public void close() {
+            depth--;
+            readers.getAndDecrement(index);
+        }
+        
+    }
+    
+    
+    public static class ScalableReadLock extends AutoReadLock {
+        
+        private final ScalableReadWriteLock owner;
+        
+        protected ScalableReadLock(ScalableReadWriteLock owner, ReadLock lock) {
+            super(owner, lock);
+            this.owner = owner;
+        }
+        
+        
+        @Override
+        public Mutex hold() {
+            var mutex = owner.fast();
+            if (mutex != null) {
+                return mutex;
+            }
+            
+            var hold = super.hold();
+            owner.rebias();
+            return hold;
+        }
+
+        @Override
+        public Mutex holdInterruptibly() throws InterruptedException {
+            var mutex = owner.fast();
+            if (mutex != null) {
+                return mutex;
+            }
+            
+            var hold = super.holdInterruptibly();
+            owner.rebias();
+            return hold;
+        }
+        
+    }
+    
+    public static class ScalableWriteLock extends AutoWriteLock {
+        
+        private final ScalableReadWriteLock owner;
+        
+        protected ScalableWriteLock(ScalableReadWriteLock owner, WriteLock lock) {
+            super(owner, lock);
+            this.owner = owner;
+        }
+        
+        
+        @Override
+        public void lock() {
+            super.lock();
+            owner.revoke(0, false);
+        }
+        
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            super.lockInterruptibly();
+            owner.revoke(0, false);
+        }
+        
+        @Override
+        public boolean tryLock() {
+            return super.tryLock() && revoke(System.nanoTime());
+        }
+        
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+            var deadline = System.nanoTime() + unit.toNanos(timeout);
+            return super.tryLock(timeout, unit) && revoke(deadline);
+        }
+        
+        boolean revoke(long deadline) {
+            if (owner.revoke(deadline, true)) {
+                return true;
+            }
+            
+            super.unlock();
+            return false;
+        }
+        
+        
+        @Override
+        public Condition newCondition() {
+            return new ScalableCondition(owner, super.newCondition());
+        }
+        
+    }
+    
+    // Awaiting reacquires the underlying write lock without revoking the bias,
+    // which readers may have restored in the meantime
+    static class ScalableCondition implements Condition {
+        
+        private final ScalableReadWriteLock owner;
+        private final Condition condition;
+        
+        ScalableCondition(ScalableReadWriteLock owner, Condition condition) {
+            this.owner = owner;
+            this.condition = condition;
+        }
+        
+        
+        @Override
+        public void await() throws InterruptedException {
+            try {
+                condition.await();
+                
+            } finally {
+                owner.revoke(0, false);
+            }
+        }
+        
+        @Override
+        public void awaitUninterruptibly() {
+            try {
+                condition.awaitUninterruptibly();
+                
+            } finally {
+                owner.revoke(0, false);
+            }
+        }
+        
+        @Override
+        public long awaitNanos(long nanos) throws InterruptedException {
+            try {
+                return condition.awaitNanos(nanos);
+                
+            } finally {
+                owner.revoke(0, false);
+            }
+        }
+        
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            try {
+                return condition.await(time, unit);
+                
+            } finally {
+                owner.revoke(0, false);
+            }
+        }
+        
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            try {
+                return condition.awaitUntil(deadline);
+                
+            } finally {
+                owner.revoke(0, false);
+            }
+        }
+        
+        @Override
+        public void signal() {
+            condition.signal();
+        }
+        
+        @Override
+        public void signalAll() {
+            condition.signalAll();
+        }
+        
+    }
+    
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+
+public class StripedLock {
+    
+    final AutoLock[] stripes;
+    final int mask;
+    
+    
+    public StripedLock(int stripes) {
+        this(stripes, false);
+    }
+    
+    public StripedLock(int stripes, boolean fair) {
+        this.stripes = new AutoLock[Stripes.length(stripes)];
+        this.mask = this.stripes.length - 1;
+        
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new AutoLock(fair);
+        }
+    }
+    
+    
+    public AutoLock get(Object key) {
+        return stripes[Stripes.index(key, mask)];
+    }
+    
+    
+    public Mutex hold(Object key) {
+        return get(key).hold();
+    }
+    
+    public Mutex holdInterruptibly(Object key) throws InterruptedException {
+        return get(key).holdInterruptibly();
+    }
+    
+    public Mutex holdAll(Object... keys) {
+        return Stripes.hold(i -> stripes[i], Stripes.indices(keys, mask));
+    }
+    
+    
+    public int stripes() {
+        return stripes.length;
+    }
+    
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+
+public class StripedReadWriteLock {
+    
+    final AutoReadWriteLock[] stripes;
+    final int mask;
+    
+    
+    public StripedReadWriteLock(int stripes) {
+        this(stripes, false);
+    }
+    
+    public StripedReadWriteLock(int stripes, boolean fair) {
+        this.stripes = new AutoReadWriteLock[Stripes.length(stripes)];
+        this.mask = this.stripes.length - 1;
+        
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new AutoReadWriteLock(fair);
+        }
+    }
+    
+    
+    public AutoReadWriteLock get(Object key) {
+        return stripes[Stripes.index(key, mask)];
+    }
+    
+    
+    public Mutex holdRead(Object key) {
+        return get(key).readLock().hold();
+    }
+    
+    public Mutex holdAllRead(Object... keys) {
+        return Stripes.hold(i -> stripes[i].readLock(), Stripes.indices(keys, mask));
+    }
+    
+    
+    public Mutex holdWrite(Object key) {
+        return get(key).writeLock().hold();
+    }
+    
+    public Mutex holdAllWrite(Object... keys) {
+        return Stripes.hold(i -> stripes[i].writeLock(), Stripes.indices(keys, mask));
+    }
+    
+    
+    public int stripes() {
+        return stripes.length;
+    }
+    
+}
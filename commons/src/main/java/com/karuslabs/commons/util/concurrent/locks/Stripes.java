@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import com.karuslabs.annotations.Static;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntFunction;
+
+
+@Static class Stripes {
+    
+    static int length(int stripes) {
+        if (stripes < 1 || stripes > 1 << 30) {
+            throw new IllegalArgumentException("Illegal number of stripes: " + stripes);
+        }
+        
+        return stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    }
+    
+    static int index(Object key, int mask) {
+        var hash = (key == null ? 0 : key.hashCode()) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+    
+    // Stripes are always acquired in ascending order so that threads holding
+    // several stripes cannot deadlock
+    static int[] indices(Object[] keys, int mask) {
+        var indices = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            indices[i] = index(keys[i], mask);
+        }
+        
+        Arrays.sort(indices);
+        
+        var distinct = 0;
+        for (int i = 0; i < indices.length; i++) {
+            if (i == 0 || indices[i] != indices[i - 1]) {
+                indices[distinct++] = indices[i];
+            }
+        }
+        
+        return distinct == indices.length ? indices : Arrays.copyOf(indices, distinct);
+    }
+    
+    static Mutex hold(IntFunction<? extends Lock> stripes, int[] indices) {
+        var held = 0;
+        try {
+            for (; held < indices.length; held++) {
+                stripes.apply(indices[held]).lock();
+            }
+            
+        } catch (RuntimeException | Error e) {
+            release(stripes, indices, held);
+            throw e;
+        }
+        
+        return () -> release(stripes, indices, indices.length);
+    }
+    
+    static void release(IntFunction<? extends Lock> stripes, int[] indices, int held) {
+        for (int i = held - 1; i >= 0; i--) {
+            stripes.apply(indices[i]).unlock();
+        }
+    }
+    
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+
+// The monitor only guards the queue's bookkeeping and is never held while a
+// waiter is granted, so no thread waits for the lock's holder.
+class Waiter {
+    
+    final CompletableFuture<Mutex> future;
+    final boolean shared;
+    final @Nullable Executor executor;
+    
+    
+    Waiter(boolean shared, @Nullable Executor executor) {
+        this.future = new CompletableFuture<>();
+        this.shared = shared;
+        this.executor = executor;
+    }
+    
+    
+    // Grants a lock that was immediately available
+    void grant(Mutex mutex) {
+        if (executor == null) {
+            complete(mutex);
+            
+        } else {
+            dispatch(executor, mutex);
+        }
+    }
+    
+    // Grants a lock released by another waiter. Without an executor, the waiter's
+    // continuations run on the releasing thread and are trampolined so that
+    // continuations which release the lock do not recurse once per queued waiter.
+    void handoff(Mutex mutex) {
+        dispatch(executor == null ? Trampoline.TRAMPOLINE : executor, mutex);
+    }
+    
+    void dispatch(Executor executor, Mutex mutex) {
+        try {
+            executor.execute(() -> complete(mutex));
+            
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            mutex.close();
+        }
+    }
+    
+    // Passes the lock on if the waiter was cancelled in the meantime
+    void complete(Mutex mutex) {
+        if (!future.complete(mutex)) {
+            mutex.close();
+        }
+    }
+    
+    
+    static final class Trampoline implements Executor {
+        
+        static final Trampoline TRAMPOLINE = new Trampoline();
+        
+        private final ThreadLocal<Deque<Runnable>> pending = new ThreadLocal<>();
+        
+        
+        // Tasks submitted while the current thread is already running a task
+        // are queued and run once that task returns
+        @Override
+        public void execute(Runnable task) {
+            var tasks = pending.get();
+            if (tasks != null) {
+                tasks.add(task);
+                return;
+            }
+            
+            tasks = new ArrayDeque<>();
+            pending.set(tasks);
+            try {
+                for (var next = task; next != null; next = tasks.poll()) {
+                    next.run();
+                }
+                
+            } finally {
+                pending.remove();
+            }
+        }
+        
+    }
+    
+}
@@ -35,6 +35,15 @@ class ReadersTest {
     StringReader reader = new StringReader("abcd");
     
     
+    @Test
+    void skipUnquoted() {
+        var reader = new StringReader("a_b.c d");
+        Readers.skipUnquoted(reader);
+        
+        assertEquals(5, reader.getCursor());
+    }
+    
+    
     @Test
     void until_char() {
         assertEquals("a", Readers.until(reader, 'b'));
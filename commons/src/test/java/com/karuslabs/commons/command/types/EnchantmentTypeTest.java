@@ -29,9 +29,12 @@ import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 
 import java.util.List;
 
+import org.bukkit.NamespacedKey;
 import org.bukkit.enchantments.Enchantment;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,15 +42,23 @@ import static org.mockito.Mockito.*;
 
 class EnchantmentTypeTest {
     
+    static final Enchantment CHANNELING = enchantment("channeling");
+    static final Enchantment ARROW_DAMAGE = enchantment("arrow_damage");
+    static final Enchantment ARROW_FIRE = enchantment("arrow_fire");
+    
+    static Enchantment enchantment(String name) {
+        Enchantment enchantment = when(mock(Enchantment.class).getKey()).thenReturn(NamespacedKey.minecraft(name)).getMock();
+        Enchantment.registerEnchantment(enchantment);
+        return enchantment;
+    }
+    
+    
     EnchantmentType type = new EnchantmentType();
     
     
     @Test
     void parse() throws CommandSyntaxException {
-        Enchantment enchantment = mock(Enchantment.class);
-        EnchantmentType.ENCHANTMENTS.put("channeling", enchantment);
-                
-        assertEquals(enchantment, type.parse(new StringReader("CHANNELING")));
+        assertEquals(CHANNELING, type.parse(new StringReader("CHANNELING")));
     }
     
     
@@ -60,11 +71,18 @@ class EnchantmentTypeTest {
     }
     
     
+    @ParameterizedTest
+    @CsvSource({"CHANNELIN, channeling", "arow_fire, arrow_fire"})
+    void parse_throws_exception_suggestions(String name, String suggestion) throws CommandSyntaxException {
+        assertEquals(
+            "Unknown enchantment: " + name.toLowerCase() + ", did you mean: " + suggestion + "?",
+            assertThrows(CommandSyntaxException.class, () -> type.parse(new StringReader(name))).getRawMessage().toString()
+        );
+    }
+    
+    
     @Test
     void listSuggestions() {
-        EnchantmentType.ENCHANTMENTS.put("arrow_damage", mock(Enchantment.class));
-        EnchantmentType.ENCHANTMENTS.put("arrow_fire", mock(Enchantment.class));
-        
         SuggestionsBuilder builder = when(mock(SuggestionsBuilder.class).getRemaining()).thenReturn("arro").getMock();
         type.listSuggestions(null, builder);
         
@@ -73,6 +91,20 @@ class EnchantmentTypeTest {
     }
     
     
+    @Test
+    void listSuggestions_ranked() throws CommandSyntaxException {
+        type.parse(new StringReader("arrow_fire"));
+        type.parse(new StringReader("arrow_fire"));
+        
+        SuggestionsBuilder builder = when(mock(SuggestionsBuilder.class).getRemaining()).thenReturn("arro").getMock();
+        type.listSuggestions(null, builder);
+        
+        var order = inOrder(builder);
+        order.verify(builder).suggest("arrow_fire");
+        order.verify(builder).suggest("arrow_damage");
+    }
+    
+    
     @Test
     void getExamples() {
         assertEquals(List.of("arrow_damage", "channeling"), type.getExamples());
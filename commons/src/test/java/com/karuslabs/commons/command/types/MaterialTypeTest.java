@@ -64,11 +64,20 @@ class MaterialTypeTest {
     }
     
     
+    @Test
+    void parse_token() throws CommandSyntaxException {
+        var reader = new StringReader("CACTUS tnt");
+        
+        assertEquals(Material.CACTUS, type.parse(reader));
+        assertEquals(6, reader.getCursor());
+    }
+    
+    
     @Test
     void parse_throws_exception() throws CommandSyntaxException {
         assertEquals(
             "Unknown material: invalid",
-            assertThrows(CommandSyntaxException.class, () -> type.parse(new StringReader("invalid"))).getRawMessage().toString()
+            assertThrows(CommandSyntaxException.class, () -> type.parse(new StringReader("INVALID"))).getRawMessage().toString()
         );
     }
     
@@ -81,6 +90,25 @@ class MaterialTypeTest {
     }
     
     
+    @Test
+    void listSuggestions_infixes_disabled() {
+        type.listSuggestions(null, when(builder.getRemaining()).thenReturn("oak_lo").getMock());
+        
+        verify(builder).suggest("oak_log");
+        verify(builder, never()).suggest("stripped_oak_log");
+    }
+    
+    
+    @Test
+    void listSuggestions_infixes_enabled() {
+        new MaterialType(true).listSuggestions(null, when(builder.getRemaining()).thenReturn("oak_lo").getMock());
+        
+        verify(builder).suggest("oak_log");
+        verify(builder).suggest("stripped_oak_log");
+        verify(builder).suggest("dark_oak_log");
+    }
+    
+    
     @Test
     void getExamples() {
         assertEquals(List.of("flint_and_steel", "tnt"), type.getExamples());
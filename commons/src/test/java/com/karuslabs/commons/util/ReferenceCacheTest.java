@@ -0,0 +1,209 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util;
+
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ReferenceCacheTest {
+    
+    @ParameterizedTest
+    @MethodSource({"caches"})
+    void get(ReferenceCache<String, Object> cache) {
+        var value = new Object();
+        cache.put("a", value);
+        
+        assertSame(value, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+    
+    
+    @ParameterizedTest
+    @MethodSource({"caches"})
+    void computeIfAbsent(ReferenceCache<String, Object> cache) {
+        var value = new Object();
+        
+        assertSame(value, cache.computeIfAbsent("a", key -> value));
+        assertSame(value, cache.computeIfAbsent("a", key -> new Object()));
+        assertNull(cache.computeIfAbsent("b", key -> null));
+        
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+    
+    
+    @ParameterizedTest
+    @MethodSource({"caches"})
+    void put(ReferenceCache<String, Object> cache) {
+        var value = new Object();
+        
+        assertNull(cache.put("a", value));
+        assertSame(value, cache.put("a", new Object()));
+        assertThrows(NullPointerException.class, () -> cache.put("a", null));
+    }
+    
+    
+    @ParameterizedTest
+    @MethodSource({"caches"})
+    void remove(ReferenceCache<String, Object> cache) {
+        var value = new Object();
+        cache.put("a", value);
+        
+        assertSame(value, cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertEquals(0, cache.size());
+    }
+    
+    
+    @ParameterizedTest
+    @MethodSource({"caches"})
+    void clear(ReferenceCache<String, Object> cache) {
+        var value = new Object();
+        cache.put("a", value);
+        
+        cache.clear();
+        
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+    
+    
+    @Test
+    void maximum() {
+        var cache = new WeakCache<String, Object>(2);
+        var a = new Object();
+        var b = new Object();
+        var c = new Object();
+        
+        cache.put("a", a);
+        cache.put("b", b);
+        cache.get("a");
+        cache.put("c", c);
+        
+        assertEquals(2, cache.maximum());
+        assertEquals(2, cache.size());
+        assertSame(a, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertSame(c, cache.get("c"));
+    }
+    
+    
+    @Test
+    void maximum_illegal() {
+        assertEquals("Illegal maximum size: 0", assertThrows(IllegalArgumentException.class, () -> new SoftCache<>(0)).getMessage());
+    }
+    
+    
+    @Test
+    void expunge() throws InterruptedException {
+        var cache = new WeakCache<String, Object>();
+        var value = new Object();
+        cache.put("a", new Object());
+        cache.put("b", value);
+        
+        var reference = (WeakCache.Entry<String, Object>) cache.entries.get("a");
+        for (int i = 0; i < 100 && cache.entries.containsKey("a"); i++) {
+            System.gc();
+            Thread.sleep(10);
+            cache.expunge();
+        }
+        
+        assertNull(reference.get());
+        assertEquals("a", reference.key());
+        assertFalse(cache.entries.containsKey("a"));
+        assertEquals(1, cache.size());
+        assertSame(value, cache.get("b"));
+    }
+    
+    
+    @Test
+    void expunge_remapped() {
+        var cache = new WeakCache<String, Object>();
+        var value = new Object();
+        cache.put("a", new Object());
+        
+        var stale = cache.entries.get("a");
+        cache.put("a", value);
+        stale.enqueue();
+        
+        assertEquals(1, cache.size());
+        assertSame(value, cache.get("a"));
+    }
+    
+    
+    @Test
+    void expunge_order() {
+        var cache = new WeakCache<String, Object>(2);
+        var a = new Object();
+        var b = new Object();
+        cache.put("a", new Object());
+        
+        var stale = cache.entries.get("a");
+        cache.put("a", a);
+        cache.put("b", b);
+        stale.enqueue();
+        cache.expunge();
+        cache.put("c", new Object());
+        
+        assertFalse(cache.entries.containsKey("a"));
+        assertTrue(cache.entries.containsKey("b"));
+        assertSame(b, cache.get("b"));
+    }
+    
+    
+    @ParameterizedTest
+    @MethodSource({"caches"})
+    void get_concurrently(ReferenceCache<String, Object> cache) throws InterruptedException {
+        var value = new Object();
+        cache.put("a", value);
+        
+        var executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4000; i++) {
+            var key = i % 2 == 0 ? "a" : "b" + i;
+            executor.submit(() -> cache.computeIfAbsent(key, k -> value));
+        }
+        
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(4000, cache.hits() + cache.misses());
+        assertEquals(2001, cache.size());
+    }
+    
+    
+    static Stream<ReferenceCache<String, Object>> caches() {
+        return Stream.of(new WeakCache<>(), new SoftCache<>());
+    }
+    
+}
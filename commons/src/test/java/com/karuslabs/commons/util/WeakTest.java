@@ -24,6 +24,7 @@
 
 package com.karuslabs.commons.util;
 
+import java.lang.ref.ReferenceQueue;
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -157,6 +158,16 @@ class WeakTest {
     }
     
     
+    @Test
+    void weakValue_queue() {
+        var queue = new ReferenceQueue<String>();
+        var weak = new WeakValue<>(VALUE, queue);
+        
+        assertTrue(weak.enqueue());
+        assertSame(weak, queue.poll());
+    }
+    
+    
     static Stream<Arguments> weaks() {
         return Stream.of(of(WEAK, false), of(Weak.empty(), true));
     }   
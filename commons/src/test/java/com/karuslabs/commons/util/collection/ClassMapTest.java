@@ -98,8 +98,11 @@ class ClassMapTest {
     static Stream<ClassMap<Object>> maps() {
         var hashed = ClassMap.of();
         var proxied = ClassMap.of(new HashMap<>());
+        var hierarchical = new HierarchicalClassMap<Object>();
+        var weak = ClassMap.weak();
+        var copied = new CopyOnWriteClassMap<Object>();
         
-        return Stream.of(hashed, proxied);
+        return Stream.of(hashed, proxied, hierarchical, weak, copied);
     }
     
 }
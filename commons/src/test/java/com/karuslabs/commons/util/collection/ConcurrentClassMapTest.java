@@ -23,6 +23,9 @@
  */
 package com.karuslabs.commons.util.collection;
 
+import java.io.*;
+import java.lang.ref.WeakReference;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.jupiter.api.Test;
@@ -52,6 +55,119 @@ class ConcurrentHashClassMapTest {
 }
 
 
+class ConcurrentWeakClassMapTest {
+    
+    public static class Probe {}
+    
+    
+    ConcurrentClassMap<Object> map = ConcurrentClassMap.weak();
+    
+    
+    @Test
+    void put() {
+        assertNull(map.put(String.class, "a"));
+        assertEquals("a", map.put(String.class, "b"));
+        assertEquals("b", map.get(String.class));
+        assertTrue(map.containsKey(String.class));
+        assertFalse(map.containsKey(Integer.class));
+        assertThrows(NullPointerException.class, () -> map.put(String.class, null));
+    }
+    
+    
+    @Test
+    void remove() {
+        map.put(String.class, "a");
+        
+        assertEquals("a", map.remove(String.class));
+        assertNull(map.remove(String.class));
+        assertTrue(map.map().isEmpty());
+    }
+    
+    
+    @Test
+    void map_concurrent_operations() {
+        var view = map.map();
+        
+        assertNull(view.putIfAbsent(String.class, "a"));
+        assertEquals("a", view.putIfAbsent(String.class, "b"));
+        assertFalse(view.replace(String.class, "b", "c"));
+        assertTrue(view.replace(String.class, "a", "c"));
+        assertEquals("c", view.replace(String.class, "d"));
+        assertFalse(view.remove(String.class, "c"));
+        assertTrue(view.remove(String.class, "d"));
+        assertNull(view.replace(String.class, "e"));
+    }
+    
+    
+    @Test
+    void map_iterator() {
+        map.put(String.class, "a");
+        map.put(Integer.class, 1);
+        
+        assertEquals(Map.of(String.class, "a", Integer.class, 1), map.map());
+        
+        var iterator = map.map().entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (entry.getKey() == Integer.class) {
+                iterator.remove();
+                assertThrows(IllegalStateException.class, iterator::remove);
+                
+            } else {
+                entry.setValue("b");
+            }
+        }
+        
+        assertEquals(Map.of(String.class, "b"), map.map());
+    }
+    
+    
+    @Test
+    void unload() throws ReflectiveOperationException, IOException, InterruptedException {
+        var loader = new IsolatedClassLoader();
+        var type = (Class<Object>) loader.load(Probe.class);
+        map.put(type, type.getConstructor().newInstance());
+        map.put(String.class, "a");
+        
+        assertEquals(2, map.map().size());
+        
+        var reference = new WeakReference<>(loader);
+        loader = null;
+        type = null;
+        
+        IsolatedClassLoader.collect(reference);
+        
+        assertNull(reference.get());
+        assertEquals(Map.of(String.class, "a"), map.map());
+    }
+    
+}
+
+
+class IsolatedClassLoader extends ClassLoader {
+    
+    static void collect(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+    
+    
+    IsolatedClassLoader() {
+        super(null);
+    }
+    
+    Class<?> load(Class<?> type) throws IOException {
+        try (var stream = type.getResourceAsStream(type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class")) {
+            var bytes = stream.readAllBytes();
+            return defineClass(type.getName(), bytes, 0, bytes.length);
+        }
+    }
+    
+}
+
+
 class ConcurrentProxiedClassMapTest {
     
     @Test
@@ -25,6 +25,9 @@ package com.karuslabs.commons.util.collection;
 
 import com.karuslabs.commons.util.collection.TokenMap.Key;
 
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.Stream;
 
@@ -74,8 +77,10 @@ class ConcurrentTokenMapTest {
     static Stream<ConcurrentTokenMap<String, Object>> maps() {
         ConcurrentTokenMap<String, Object> hashed = ConcurrentTokenMap.of();
         ConcurrentTokenMap<String, Object> proxied = ConcurrentTokenMap.of(new ConcurrentHashMap<>());
+        ConcurrentTokenMap<String, Object> weak = ConcurrentTokenMap.weak();
+        ConcurrentTokenMap<String, Object> copied = new CopyOnWriteTokenMap<>();
         
-        return Stream.of(hashed, proxied);
+        return Stream.of(hashed, proxied, weak, copied);
     }
     
 }
@@ -88,7 +93,206 @@ class ConcurrentHashTokenMapTest {
     
     @Test
     void map() {
-        assertSame(map, map.map());
+        map.put("a", String.class, "b");
+        map.put("a", Integer.class, 1);
+        map.put(null, String.class, "c");
+        
+        var expected = new HashMap<Key<String, ?>, Object>();
+        expected.put(TokenMap.key("a", String.class), "b");
+        expected.put(TokenMap.key("a", Integer.class), 1);
+        expected.put(TokenMap.key(null, String.class), "c");
+        
+        assertSame(map.map(), map.map());
+        assertEquals(expected, map.map());
+        assertEquals(map.map(), expected);
+        assertEquals(3, map.map().size());
+    }
+    
+    
+    @Test
+    void map_null_name() {
+        map.map().put(TokenMap.key(null, String.class), "a");
+        
+        assertEquals("a", map.get(null, String.class));
+        assertTrue(map.containsKey(null, String.class));
+        assertEquals("a", map.remove(null, String.class));
+        assertTrue(map.map().isEmpty());
+    }
+    
+    
+    @Test
+    void map_concurrent_operations() {
+        var view = map.map();
+        var key = TokenMap.key("a", String.class);
+        
+        assertNull(view.putIfAbsent(key, "b"));
+        assertEquals("b", view.putIfAbsent(key, "c"));
+        assertFalse(view.replace(key, "c", "d"));
+        assertTrue(view.replace(key, "b", "d"));
+        assertEquals("d", view.replace(key, "e"));
+        assertFalse(view.remove(key, "d"));
+        assertTrue(view.remove(key, "e"));
+        assertNull(view.replace(TokenMap.key("a", Integer.class), 1));
+        assertFalse(view.containsKey(key));
+    }
+    
+    
+    @Test
+    void map_iterator() {
+        map.put("a", String.class, "b");
+        map.put("a", Integer.class, 1);
+        map.put("c", Integer.class, 2);
+        
+        var iterator = map.map().entrySet().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (entry.getKey().type == Integer.class) {
+                iterator.hasNext();
+                iterator.remove();
+                
+            } else {
+                entry.setValue("c");
+            }
+        }
+        
+        assertEquals(Map.of(TokenMap.key("a", String.class), "c"), map.map());
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+    
+    
+    @Test
+    void map_clear() {
+        map.put("a", String.class, "b");
+        map.map().clear();
+        
+        assertTrue(map.map().isEmpty());
+        assertFalse(map.containsKey("a", String.class));
+    }
+    
+    
+    @Test
+    void put_concurrently() throws InterruptedException {
+        var threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            var strings = i % 2 == 0;
+            var offset = i * 1000;
+            threads[i] = new Thread(() -> {
+                for (int j = offset; j < offset + 1000; j++) {
+                    if (strings) {
+                        map.put("" + j, String.class, "" + j);
+                        
+                    } else {
+                        map.put("" + j, Object.class, "" + j);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        
+        for (var thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(4000, map.map().size());
+        assertEquals("2500", map.get("2500", String.class));
+        assertEquals("3500", map.get("3500", Object.class));
+    }
+    
+    
+    @Test
+    void remove_prune() {
+        var types = ((ConcurrentHashTokenMap<String, Object>) map).types;
+        
+        map.put("a", String.class, "b");
+        map.put("a", Integer.class, 1);
+        map.put("b", Integer.class, 2);
+        map.remove("a", String.class);
+        
+        assertEquals(Set.of(Integer.class), types.keySet());
+        
+        map.map().remove(TokenMap.key("a", Integer.class), 1);
+        map.map().entrySet().removeIf(entry -> entry.getValue().equals(2));
+        
+        assertTrue(types.isEmpty());
+        
+        map.put("c", String.class, "d");
+        map.map().clear();
+        
+        assertTrue(types.isEmpty());
+    }
+    
+    
+    @Test
+    void put_remove_concurrently() throws InterruptedException {
+        var remover = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                map.put("remover", String.class, "" + i);
+                map.remove("remover", String.class);
+            }
+        });
+        
+        var writer = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                map.put("" + i, String.class, "" + i);
+                map.remove("" + i, String.class);
+                map.map().putIfAbsent(TokenMap.key("" + i, String.class), "" + i);
+            }
+        });
+        
+        remover.start();
+        writer.start();
+        remover.join();
+        writer.join();
+        
+        assertEquals(20000, map.map().size());
+        assertEquals("19999", map.get("19999", String.class));
+    }
+    
+}
+
+
+class ConcurrentWeakTokenMapTest {
+    
+    public static class Probe {}
+    
+    
+    ConcurrentTokenMap<String, Object> map = ConcurrentTokenMap.weak();
+    
+    
+    @Test
+    void map() {
+        map.put("a", String.class, "b");
+        map.put(null, String.class, "c");
+        map.put("a", Integer.class, 1);
+        
+        var expected = new HashMap<Key<String, ?>, Object>();
+        expected.put(TokenMap.key("a", String.class), "b");
+        expected.put(TokenMap.key(null, String.class), "c");
+        expected.put(TokenMap.key("a", Integer.class), 1);
+        
+        assertEquals(expected, map.map());
+        assertEquals(3, map.map().size());
+    }
+    
+    
+    @Test
+    void unload() throws ReflectiveOperationException, IOException, InterruptedException {
+        var loader = new IsolatedClassLoader();
+        var type = (Class<Object>) loader.load(Probe.class);
+        map.put("a", type, type.getConstructor().newInstance());
+        map.put("b", type, type.getConstructor().newInstance());
+        map.put("a", String.class, "b");
+        
+        assertEquals(3, map.map().size());
+        
+        var reference = new WeakReference<>(loader);
+        loader = null;
+        type = null;
+        
+        IsolatedClassLoader.collect(reference);
+        
+        assertNull(reference.get());
+        assertEquals(Map.of(TokenMap.key("a", String.class), "b"), map.map());
     }
     
 }
@@ -0,0 +1,302 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ConcurrentTrieTest {
+    
+    ConcurrentTrie<String> trie = new ConcurrentTrie<>();
+    ConcurrentTrie<String> populated = new ConcurrentTrie<>();
+    
+    
+    ConcurrentTrieTest() {
+        populated.put("app", "app_value");
+        populated.put("apple", "apple_value");
+        populated.put("application", "application_value");
+        populated.put("banana", "banana_value");
+    }
+    
+    
+    @Test
+    void snapshot() {
+        var snapshot = populated.snapshot();
+        populated.remove("app");
+        snapshot.put("cherry", "cherry_value");
+        
+        assertEquals(5, snapshot.size());
+        assertEquals("app_value", snapshot.get("app"));
+        assertEquals(3, populated.size());
+        assertNull(populated.get("cherry"));
+    }
+    
+    
+    @Test
+    void readOnlySnapshot() {
+        var snapshot = populated.readOnlySnapshot();
+        populated.put("cherry", "cherry_value");
+        
+        assertEquals(4, snapshot.size());
+        assertSame(snapshot, snapshot.readOnlySnapshot());
+        assertEquals("Snapshot is read-only", assertThrows(UnsupportedOperationException.class, () -> snapshot.put("a", "b")).getMessage());
+        assertThrows(UnsupportedOperationException.class, snapshot::clear);
+    }
+    
+    
+    @Test
+    void prefixIterator() {
+        var keys = new ArrayList<String>();
+        var iterator = populated.prefixIterator("app");
+        while (iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+            populated.put("apply" + keys.size(), "value");
+        }
+        
+        assertEquals(List.of("app", "apple", "application"), keys);
+        assertFalse(populated.prefixIterator("c").hasNext());
+    }
+    
+    
+    @Test
+    void prefixEntries() {
+        var entries = populated.prefixEntries("appl");
+        
+        assertEquals(2, entries.size());
+        assertTrue(entries.contains(new AbstractMap.SimpleEntry<>("apple", "apple_value")));
+    }
+    
+    
+    @Test
+    void prefixedKeys() {
+        assertEquals(Set.of("app", "apple", "application"), populated.prefixedKeys("app"));
+        assertTrue(populated.prefixedKeys("c").isEmpty());
+    }
+    
+    
+    @Test
+    void prefixedValues() {
+        var values = populated.prefixedValues("appl");
+        
+        assertEquals(2, values.size());
+        assertTrue(values.containsAll(List.of("apple_value", "application_value")));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"apple_value, true", "invalid, false"})
+    void containsValue(String value, boolean expected) {
+        assertEquals(expected, populated.containsValue(value));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"app, true", "appl, false", "applications, false"})
+    void containsKey(String key, boolean expected) {
+        assertEquals(expected, populated.containsKey(key));
+    }
+    
+    
+    @Test
+    void get_throws_exception() {
+        assertEquals("Null keys are not permitted in a trie", assertThrows(NullPointerException.class, () -> trie.get(null)).getMessage());
+    }
+    
+    
+    @Test
+    void put() {
+        assertNull(trie.put("a", "old"));
+        assertEquals("old", trie.put("a", "new"));
+        assertNull(trie.put("abc", "value"));
+        
+        assertEquals("new", trie.get("a"));
+        assertEquals(2, trie.size());
+    }
+    
+    
+    @Test
+    void put_throws_exception() {
+        assertEquals("Null values are not permitted in a concurrent trie", assertThrows(NullPointerException.class, () -> trie.put("a", null)).getMessage());
+    }
+    
+    
+    @Test
+    void putIfAbsent() {
+        assertEquals("app_value", populated.putIfAbsent("app", "new"));
+        assertNull(populated.putIfAbsent("ap", "ap_value"));
+        
+        assertEquals("app_value", populated.get("app"));
+        assertEquals("ap_value", populated.get("ap"));
+    }
+    
+    
+    @Test
+    void replace() {
+        assertEquals("app_value", populated.replace("app", "new"));
+        assertNull(populated.replace("ap", "new"));
+        
+        assertEquals("new", populated.get("app"));
+        assertFalse(populated.containsKey("ap"));
+    }
+    
+    
+    @Test
+    void replace_expected() {
+        assertFalse(populated.replace("app", "invalid", "new"));
+        assertTrue(populated.replace("app", "app_value", "new"));
+        
+        assertEquals("new", populated.get("app"));
+    }
+    
+    
+    @Test
+    void remove() {
+        assertEquals("application_value", populated.remove("application"));
+        assertNull(populated.remove("application"));
+        assertNull(populated.remove("appl"));
+        
+        assertEquals("apple_value", populated.get("apple"));
+        assertEquals(3, populated.size());
+    }
+    
+    
+    @Test
+    void remove_prunes() {
+        trie.put("abc", "value");
+        trie.remove("abc");
+        
+        assertSame(ConcurrentTrie.Node.EMPTY, trie.root.get());
+    }
+    
+    
+    @Test
+    void remove_value() {
+        assertFalse(populated.remove("app", "invalid"));
+        assertTrue(populated.remove("app", "app_value"));
+        
+        assertFalse(populated.containsKey("app"));
+        assertEquals("apple_value", populated.get("apple"));
+    }
+    
+    
+    @Test
+    void compute() {
+        populated.merge("app", "_merged", String::concat);
+        populated.computeIfAbsent("cherry", key -> key + "_value");
+        
+        assertEquals("app_value_merged", populated.get("app"));
+        assertEquals("cherry_value", populated.get("cherry"));
+    }
+    
+    
+    @Test
+    void clear() {
+        populated.clear();
+        
+        assertTrue(populated.isEmpty());
+        assertNull(populated.get("app"));
+    }
+    
+    
+    @Test
+    void entrySet() {
+        var entries = populated.entrySet();
+        
+        assertEquals(4, entries.size());
+        assertTrue(entries.contains(new AbstractMap.SimpleEntry<>("app", "app_value")));
+        assertFalse(entries.contains(new AbstractMap.SimpleEntry<>("app", "invalid")));
+        
+        assertTrue(entries.remove(new AbstractMap.SimpleEntry<>("app", "app_value")));
+        assertEquals(3, entries.size());
+    }
+    
+    
+    @Test
+    void iterator() {
+        var keys = new ArrayList<String>();
+        for (var key : populated.keySet()) {
+            keys.add(key);
+            populated.remove("banana");
+        }
+        
+        assertEquals(List.of("app", "apple", "application", "banana"), keys);
+    }
+    
+    
+    @Test
+    void iterator_remove() {
+        var iterator = populated.entrySet().iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        
+        var entry = iterator.next();
+        iterator.remove();
+        
+        assertFalse(populated.containsKey(entry.getKey()));
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+    
+    
+    @Test
+    void iterator_set_value() {
+        var entry = populated.entrySet().iterator().next();
+        entry.setValue("new");
+        
+        assertEquals("new", populated.get(entry.getKey()));
+    }
+    
+    
+    @Test
+    void iterator_throws_exception() {
+        assertThrows(NoSuchElementException.class, trie.entrySet().iterator()::next);
+    }
+    
+    
+    @Test
+    void concurrent_put() throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            var offset = thread;
+            executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    trie.put("player" + (i * 4 + offset), "value");
+                }
+            });
+        }
+        
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, SECONDS));
+        
+        assertEquals(4000, trie.size());
+        assertEquals(1111, trie.prefixedKeys("player1").size());
+    }
+    
+}
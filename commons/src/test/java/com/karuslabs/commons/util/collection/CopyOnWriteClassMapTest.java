@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CopyOnWriteClassMapTest {
+    
+    CopyOnWriteClassMap<Object> map = new CopyOnWriteClassMap<>();
+    
+    
+    @Test
+    void copyOnWriteClassMap_map() {
+        var source = ClassMap.<Object>of();
+        source.put(String.class, "a");
+        source.put(Integer.class, 1);
+        
+        var map = new CopyOnWriteClassMap<>(source);
+        
+        assertEquals(source.map(), map.map());
+        assertEquals(4, map.snapshot.types.length);
+    }
+    
+    
+    @Test
+    void mutate() {
+        map.put(String.class, "a");
+        var snapshot = map.snapshot;
+        
+        map.mutate(map -> {
+            map.remove(String.class);
+            map.put(Integer.class, 1);
+            map.put(Long.class, 2L);
+        });
+        
+        assertNotSame(snapshot, map.snapshot);
+        assertEquals("a", snapshot.get(null, String.class));
+        assertEquals(Map.of(Integer.class, 1, Long.class, 2L), map.map());
+        assertEquals(2, map.snapshot.used);
+    }
+    
+    
+    @Test
+    void mutate_null() {
+        var snapshot = map.snapshot;
+        
+        assertEquals(
+            "Null values are not permitted in a copy-on-write class map",
+            assertThrows(NullPointerException.class, () -> map.mutate(map -> map.put(String.class, null))).getMessage()
+        );
+        assertSame(snapshot, map.snapshot);
+    }
+    
+    
+    @Test
+    void put() {
+        var snapshot = map.snapshot;
+        
+        assertNull(map.put(String.class, "a"));
+        assertEquals("a", map.put(String.class, "b"));
+        
+        assertEquals(0, snapshot.size);
+        assertEquals("b", map.get(String.class));
+        assertThrows(NullPointerException.class, () -> map.put(String.class, null));
+    }
+    
+    
+    @Test
+    void remove() {
+        map.put(String.class, "a");
+        map.put(Integer.class, 1);
+        var snapshot = map.snapshot;
+        
+        assertEquals("a", map.remove(String.class));
+        assertNull(map.remove(String.class));
+        
+        assertEquals("a", snapshot.get(null, String.class));
+        assertEquals(1, map.snapshot.used);
+    }
+    
+    
+    @Test
+    void map_concurrent() {
+        var view = map.map();
+        
+        assertNull(view.putIfAbsent(String.class, "a"));
+        assertEquals("a", view.putIfAbsent(String.class, "b"));
+        assertFalse(view.replace(String.class, "b", "c"));
+        assertTrue(view.replace(String.class, "a", "c"));
+        assertNull(view.replace(Integer.class, 1));
+        assertFalse(view.remove(String.class, "a"));
+        assertTrue(view.remove(String.class, "c"));
+        assertTrue(view.isEmpty());
+    }
+    
+    
+    @Test
+    void map_iterator() {
+        map.put(String.class, "a");
+        map.put(Integer.class, 1);
+        
+        var iterator = map.map().entrySet().iterator();
+        map.put(Long.class, 2L);
+        
+        var types = new HashSet<Class<?>>();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            types.add(entry.getKey());
+            
+            if (entry.getKey() == Integer.class) {
+                iterator.remove();
+                assertThrows(IllegalStateException.class, iterator::remove);
+                
+            } else {
+                entry.setValue("b");
+            }
+        }
+        
+        assertEquals(Set.of(String.class, Integer.class), types);
+        assertEquals(Map.of(String.class, "b", Long.class, 2L), map.map());
+    }
+    
+}
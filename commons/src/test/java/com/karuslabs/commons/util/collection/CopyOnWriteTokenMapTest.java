@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.collection.TokenMap.Key;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CopyOnWriteTokenMapTest {
+    
+    CopyOnWriteTokenMap<String, Object> map = new CopyOnWriteTokenMap<>();
+    
+    
+    @Test
+    void copyOnWriteTokenMap_map() {
+        var source = TokenMap.<String, Object>of();
+        source.put("a", String.class, "b");
+        source.put("c", Integer.class, 1);
+        
+        var map = new CopyOnWriteTokenMap<>(source);
+        
+        assertEquals(source.map(), map.map());
+        assertEquals(4, map.snapshot.types.length);
+    }
+    
+    
+    @Test
+    void copyOnWriteTokenMap_map_null() {
+        var source = TokenMap.<String, Object>of();
+        source.put("a", String.class, null);
+        
+        assertThrows(NullPointerException.class, () -> new CopyOnWriteTokenMap<>(source));
+    }
+    
+    
+    @Test
+    void mutate() {
+        map.put("a", String.class, "b");
+        var snapshot = map.snapshot;
+        
+        map.mutate(map -> {
+            map.remove("a", String.class);
+            for (int i = 0; i < 100; i++) {
+                map.put("" + i, Integer.class, i);
+            }
+            map.remove("99", Integer.class);
+        });
+        
+        assertNotSame(snapshot, map.snapshot);
+        assertEquals("b", snapshot.get("a", String.class));
+        
+        assertFalse(map.containsKey("a", String.class));
+        assertEquals(98, (int) map.get("98", Integer.class));
+        assertEquals(99, map.map().size());
+        assertEquals(99, map.snapshot.used);
+        assertEquals(ArrayTokenMap.length(99), map.snapshot.types.length);
+    }
+    
+    
+    @Test
+    void mutate_retained() {
+        var retained = new ArrayList<TokenMap<String, Object>>();
+        map.mutate(map -> {
+            map.put("a", String.class, "b");
+            retained.add(map);
+        });
+        
+        retained.get(0).put("a", String.class, "c");
+        retained.get(0).put("d", String.class, "e");
+        
+        assertEquals("b", map.get("a", String.class));
+        assertFalse(map.containsKey("d", String.class));
+        assertEquals(1, map.map().size());
+    }
+    
+    
+    @Test
+    void mutate_null() {
+        map.put("a", String.class, "b");
+        var snapshot = map.snapshot;
+        
+        assertEquals(
+            "Null values are not permitted in a copy-on-write token map",
+            assertThrows(NullPointerException.class, () -> map.mutate(map -> map.put("c", String.class, null))).getMessage()
+        );
+        assertSame(snapshot, map.snapshot);
+    }
+    
+    
+    @Test
+    void put() {
+        var snapshot = map.snapshot;
+        
+        assertNull(map.put("a", String.class, "b"));
+        assertEquals("b", map.put(TokenMap.key("a", String.class), "c"));
+        
+        assertEquals(0, snapshot.size);
+        assertEquals("c", map.get("a", String.class));
+        assertThrows(NullPointerException.class, () -> map.put("a", String.class, null));
+    }
+    
+    
+    @Test
+    void remove() {
+        map.put("a", String.class, "b");
+        map.put("c", String.class, "d");
+        var snapshot = map.snapshot;
+        
+        assertEquals("b", map.remove(TokenMap.key("a", String.class)));
+        assertNull(map.remove("a", String.class));
+        
+        assertEquals("b", snapshot.get("a", String.class));
+        assertEquals(1, map.snapshot.used);
+    }
+    
+    
+    @Test
+    void getOrDefault() {
+        map.put("a", Integer.class, 1);
+        
+        assertEquals(1, (int) map.getOrDefault("a", Integer.class, 2));
+        assertEquals("c", map.getOrDefault(TokenMap.key("b", String.class), "c"));
+    }
+    
+    
+    @Test
+    void map_iterator() {
+        map.put("a", String.class, "b");
+        map.put("c", String.class, "d");
+        
+        var iterator = map.map().entrySet().iterator();
+        map.put("e", String.class, "f");
+        
+        var entries = new HashMap<Key<String, ?>, Object>();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            entries.put(entry.getKey(), entry.getValue());
+            
+            if (entry.getKey().equals(TokenMap.key("a", String.class))) {
+                iterator.remove();
+                assertThrows(IllegalStateException.class, iterator::remove);
+                
+            } else {
+                entry.setValue("g");
+            }
+        }
+        
+        assertEquals(Map.of(TokenMap.key("a", String.class), "b", TokenMap.key("c", String.class), "d"), entries);
+        assertEquals(Map.of(TokenMap.key("c", String.class), "g", TokenMap.key("e", String.class), "f"), map.map());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+    
+    
+    @Test
+    void map_clear() {
+        map.put("a", String.class, "b");
+        
+        map.map().clear();
+        
+        assertTrue(map.map().isEmpty());
+        assertEquals(0, map.snapshot.types.length);
+    }
+    
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class HierarchicalClassMapTest {
+    
+    static interface Service {}
+    
+    static interface Named extends Service {}
+    
+    static interface Cached {}
+    
+    static class Base implements Named {}
+    
+    static class Derived extends Base implements Cached {}
+    
+    static class Leaf extends Derived {}
+    
+    
+    Service service = new Base();
+    Base base = new Base();
+    Cached cached = new Derived();
+    HierarchicalClassMap<Object> map = new HierarchicalClassMap<>();
+    
+    
+    HierarchicalClassMapTest() {
+        map.put(Service.class, service);
+        map.put(Base.class, base);
+        map.put(Cached.class, cached);
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({
+        "com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Service, com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Service",
+        "com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Named, com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Service",
+        "com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Base, com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Base",
+        "com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Derived, com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Base",
+        "com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Leaf, com.karuslabs.commons.util.collection.HierarchicalClassMapTest$Base",
+    })
+    void resolve(Class<?> type, Class<?> expected) {
+        assertEquals(expected, map.resolve(type));
+        assertEquals(expected, map.resolve(type));
+    }
+    
+    
+    @Test
+    void resolve_none() {
+        assertNull(map.resolve(String.class));
+        assertNull(map.find(String.class));
+    }
+    
+    
+    @Test
+    void find() {
+        assertSame(base, map.find(Leaf.class));
+        assertSame(service, map.find(Named.class));
+    }
+    
+    
+    @Test
+    void find_put() {
+        assertSame(base, map.find(Leaf.class));
+        
+        var derived = new Derived();
+        map.put(Derived.class, derived);
+        assertSame(derived, map.find(Leaf.class));
+        
+        var leaf = new Leaf();
+        map.put(Leaf.class, leaf);
+        assertSame(leaf, map.find(Leaf.class));
+    }
+    
+    
+    @Test
+    void find_replace() {
+        assertSame(base, map.find(Leaf.class));
+        
+        var generation = map.generation;
+        var replaced = new Base();
+        map.put(Base.class, replaced);
+        
+        assertEquals(generation, map.generation);
+        assertSame(replaced, map.find(Leaf.class));
+    }
+    
+    
+    @Test
+    void find_remove() {
+        assertSame(base, map.find(Leaf.class));
+        
+        map.remove(Base.class);
+        assertSame(cached, map.find(Leaf.class));
+        
+        map.remove(Cached.class);
+        assertSame(service, map.find(Leaf.class));
+    }
+    
+    
+    @Test
+    void find_iterator_remove() {
+        assertSame(base, map.find(Derived.class));
+        
+        map.map().keySet().remove(Base.class);
+        
+        assertSame(cached, map.find(Derived.class));
+    }
+    
+    
+    @Test
+    void find_clear() {
+        assertSame(base, map.find(Derived.class));
+        
+        map.map().clear();
+        
+        assertNull(map.find(Derived.class));
+    }
+    
+    
+    @Test
+    void getOrDefault() {
+        map.put(int.class, 1);
+        map.map().put(String.class, 2);
+        
+        assertEquals(1, (int) map.getOrDefault(int.class, 3));
+        assertEquals("default", map.getOrDefault(String.class, "default"));
+        assertEquals("default", map.getOrDefault(CharSequence.class, "default"));
+    }
+    
+    
+    @Test
+    void get_exact() {
+        assertNull(map.get(Leaf.class));
+        assertSame(base, map.get(Base.class));
+    }
+    
+}
@@ -0,0 +1,239 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ImmutableTrieTest {
+    
+    static final Map<String, String> MAP = new HashMap<>();
+    static {
+        MAP.put("app", "app_value");
+        MAP.put("apple", "apple_value");
+        MAP.put("application", "application_value");
+        MAP.put("banana", null);
+        MAP.put("anÜb", "anÜb_value");
+    }
+    
+    ImmutableTrie<String> trie = ImmutableTrie.copyOf(MAP);
+    
+    
+    @Test
+    void of() {
+        assertTrue(ImmutableTrie.of().isEmpty());
+        assertTrue(ImmutableTrie.of().prefixedKeys("").isEmpty());
+        assertNull(ImmutableTrie.of().get("a"));
+    }
+    
+    
+    @Test
+    void copyOf() {
+        assertEquals(MAP, trie);
+        assertEquals(trie, MAP);
+        assertSame(trie, ImmutableTrie.copyOf(trie));
+    }
+    
+    
+    @Test
+    void copyOf_throws_exception() {
+        var map = new HashMap<String, String>();
+        map.put(null, "value");
+        
+        assertEquals("Null keys are not permitted in a trie", assertThrows(NullPointerException.class, () -> ImmutableTrie.copyOf(map)).getMessage());
+    }
+    
+    
+    @Test
+    void freeze() {
+        var trie = new Trie<String>();
+        trie.putAll(MAP);
+        
+        assertEquals(MAP, trie.freeze());
+    }
+    
+    
+    @Test
+    void prefixIterator() {
+        var iterator = trie.prefixIterator("appl");
+        
+        assertEquals("apple", iterator.next().getKey());
+        assertEquals("application", iterator.next().getKey());
+        assertFalse(iterator.hasNext());
+        assertFalse(trie.prefixIterator("appz").hasNext());
+    }
+    
+    
+    @Test
+    void prefixStream() {
+        assertEquals(3, trie.prefixStream("app").count());
+        assertEquals(0, trie.prefixStream("appz").count());
+        assertEquals(3, trie.prefixStream("app").spliterator().getExactSizeIfKnown());
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"app, 2, app|apple", "app, 10, app|apple|application", "appz, 2, ''"})
+    void prefixedKeys_limit(String prefix, int limit, String expected) {
+        assertEquals(expected.isEmpty() ? List.of() : List.of(expected.split("\\|")), trie.prefixedKeys(prefix, limit));
+    }
+    
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"app", "appz"})
+    void prefixedKeys_limit_illegal(String prefix) {
+        assertEquals("Illegal limit: -1", assertThrows(IllegalArgumentException.class, () -> trie.prefixedKeys(prefix, -1)).getMessage());
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({
+        "aple, 1, 3, apple",
+        "aple, 2, 3, apple|app",
+        "aple, 2, 1, apple",
+        "applicaton, 2, 3, application",
+        "bananna, 1, 3, banana",
+        "xyz, 2, 3, ''",
+        "apple, 2, 0, ''"
+    })
+    void fuzzy(String key, int distance, int limit, String expected) {
+        assertEquals(expected.isEmpty() ? List.of() : List.of(expected.split("\\|")), trie.fuzzy(key, distance, limit));
+    }
+    
+    
+    @Test
+    void prefixEntries() {
+        var entries = trie.prefixEntries("app");
+        
+        assertEquals(3, entries.size());
+        assertTrue(entries.contains(new AbstractMap.SimpleEntry<>("apple", "apple_value")));
+        assertFalse(entries.contains(new AbstractMap.SimpleEntry<>("apple", "invalid")));
+        assertFalse(entries.contains(new AbstractMap.SimpleEntry<>("banana", null)));
+    }
+    
+    
+    @Test
+    void prefixedKeys() {
+        assertEquals(List.of("app", "apple", "application"), new ArrayList<>(trie.prefixedKeys("app")));
+        assertEquals(List.of("anÜb"), new ArrayList<>(trie.prefixedKeys("anÜ")));
+        assertTrue(trie.prefixedKeys("appz").isEmpty());
+    }
+    
+    
+    @Test
+    void prefixedKeys_contains() {
+        var keys = trie.prefixedKeys("appl");
+        
+        assertTrue(keys.contains("apple"));
+        assertFalse(keys.contains("app"));
+        assertFalse(keys.contains("banana"));
+    }
+    
+    
+    @Test
+    void prefixedValues() {
+        assertEquals(List.of("app_value", "apple_value", "application_value"), new ArrayList<>(trie.prefixedValues("app")));
+        assertTrue(trie.prefixedValues("c").isEmpty());
+    }
+    
+    
+    @Test
+    void keySet() {
+        assertEquals(List.of("anÜb", "app", "apple", "application", "banana"), new ArrayList<>(trie.keySet()));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"app, true", "banana, true", "applicant, false", "appl, false", "'', false"})
+    void containsKey(String key, boolean expected) {
+        assertEquals(expected, trie.containsKey(key));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({", true", "apple_value, true", "apply_value, false"})
+    void containsValue(String value, boolean expected) {
+        assertEquals(expected, trie.containsValue(value));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"application, application_value", "applicant, ", "appl, ", "banana, "})
+    void get(String key, String expected) {
+        assertEquals(expected, trie.get(key));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"'give application now', 5, 16, application_value", "'give APPLE now', 5, 10, ", "'apples', 0, 5, apple_value", "'apples', 0, 4, "})
+    void get_range(String key, int start, int end, String expected) {
+        assertEquals(expected, trie.get(key, start, end));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"'give APPLE now', 5, 10, apple_value", "'APP', 0, 3, app_value", "'give APPLES', 5, 11, "})
+    void getLowercase(String key, int start, int end, String expected) {
+        assertEquals(expected, trie.getLowercase(key, start, end));
+    }
+    
+    
+    @Test
+    void get_empty_key() {
+        var trie = ImmutableTrie.copyOf(Map.of("", "empty", "a", "a"));
+        
+        assertEquals("empty", trie.get(""));
+        assertEquals("a", trie.get("a"));
+    }
+    
+    
+    @Test
+    void get_throws_exception() {
+        assertEquals("Null keys are not permitted in a trie", assertThrows(NullPointerException.class, () -> trie.get(null)).getMessage());
+    }
+    
+    
+    @Test
+    void put_throws_exception() {
+        assertThrows(UnsupportedOperationException.class, () -> trie.put("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> trie.remove("app"));
+        assertThrows(UnsupportedOperationException.class, () -> trie.keySet().iterator().remove());
+    }
+    
+    
+    @Test
+    void iterator_throws_exception() {
+        var iterator = trie.prefixedKeys("banana").iterator();
+        iterator.next();
+        
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+} 
@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+import java.util.stream.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class InfixIndexTest {
+    
+    static final List<String> KEYS = List.of("oak_log", "stripped_oak_log", "dark_oak_log", "oak", "banana", "ana", "", "anÜb");
+    
+    
+    InfixIndex index = InfixIndex.copyOf(KEYS);
+    
+    
+    @ParameterizedTest
+    @CsvSource({
+        "oak, dark_oak_log|oak|oak_log|stripped_oak_log",
+        "oak_, dark_oak_log|oak_log|stripped_oak_log",
+        "log, dark_oak_log|oak_log|stripped_oak_log",
+        "ana, ana|banana",
+        "nan, banana",
+        "a, ana|anÜb|banana|dark_oak_log|oak|oak_log|stripped_oak_log",
+        "Üb, anÜb",
+        "k_log, dark_oak_log|oak_log|stripped_oak_log",
+        "oaks, ''",
+        "z, ''",
+    })
+    void containing(String infix, String expected) {
+        var keys = expected.isEmpty() ? List.of() : List.of(expected.split("\\|"));
+        
+        assertEquals(keys, index.containing(infix));
+    }
+    
+    
+    @ParameterizedTest
+    @MethodSource("infixes")
+    void containing_linear(String infix) {
+        var expected = KEYS.stream().filter(key -> key.contains(infix)).sorted().collect(Collectors.toList());
+        
+        assertEquals(expected, index.containing(infix));
+    }
+    
+    static Stream<String> infixes() {
+        return KEYS.stream().flatMap(key -> IntStream.rangeClosed(0, key.length()).boxed().flatMap(i -> 
+            IntStream.rangeClosed(i, key.length()).mapToObj(j -> key.substring(i, j))
+        )).distinct();
+    }
+    
+    
+    @Test
+    void containing_limit() {
+        assertEquals(List.of("dark_oak_log", "oak"), index.containing("oak", 2));
+        assertEquals(List.of("", "ana"), index.containing("", 2));
+        assertEquals(List.of("ana", "anÜb"), index.containing("an", 2));
+        assertEquals(List.of(), index.containing("oak", 0));
+    }
+    
+    
+    @Test
+    void copyOf_duplicates() {
+        var index = InfixIndex.copyOf(List.of("b", "a", "b"));
+        
+        assertEquals(2, index.size());
+        assertEquals(List.of("a", "b"), index.containing(""));
+    }
+    
+    
+    @Test
+    void of() {
+        assertSame(InfixIndex.of(), InfixIndex.copyOf(Set.of()));
+        assertTrue(InfixIndex.of().isEmpty());
+        assertEquals(List.of(), InfixIndex.of().containing("a"));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"oak, true", "'', true", "oa, false"})
+    void contains(String key, boolean expected) {
+        assertEquals(expected, index.contains(key));
+    }
+    
+    
+    @Test
+    void size() {
+        assertEquals(8, index.size());
+        assertFalse(index.isEmpty());
+    }
+    
+}
@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.collection.TokenMap.Key;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class KeySchemaTest {
+    
+    Key<String, Integer> a = TokenMap.key("a", Integer.class);
+    Key<String, String> b = TokenMap.key("b", String.class);
+    KeySchema<String, Object> schema = KeySchema.of(a, b);
+    
+    
+    @Test
+    void of() {
+        var other = KeySchema.of(b, a);
+        
+        assertEquals(0, schema.slot(a));
+        assertEquals(1, schema.slot(b));
+        assertEquals(1, other.slot(a));
+        assertEquals(0, other.slot(b));
+        assertEquals(2, schema.size());
+    }
+    
+    
+    @Test
+    void of_duplicate() {
+        assertEquals(
+            "Schema contains duplicate key: " + a,
+            assertThrows(IllegalArgumentException.class, () -> KeySchema.of(a, TokenMap.key("a", Integer.class))).getMessage()
+        );
+        assertEquals(0, schema.slot(a));
+    }
+    
+    
+    @Test
+    void of_many() {
+        var keys = new ArrayList<Key<String, Integer>>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(TokenMap.key("" + i, Integer.class));
+        }
+        
+        var many = KeySchema.of(keys.toArray(Key[]::new));
+        
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, many.slot(keys.get(i)));
+            assertEquals(i, many.slot("" + i, Integer.class));
+        }
+        assertEquals(-1, many.slot("100", Integer.class));
+    }
+    
+    
+    @Test
+    void slot_key() {
+        assertEquals(1, schema.slot(b));
+        assertEquals(1, schema.slot(TokenMap.key("b", String.class)));
+        assertEquals(-1, schema.slot(TokenMap.key("b", Integer.class)));
+    }
+    
+    
+    @Test
+    void slot_name() {
+        assertEquals(0, schema.slot("a", Integer.class));
+        assertEquals(-1, schema.slot("c", Integer.class));
+    }
+    
+    
+    @Test
+    void keys() {
+        assertEquals(List.of(a, b), schema.keys());
+        assertThrows(UnsupportedOperationException.class, () -> schema.keys().clear());
+    }
+    
+    
+    @Test
+    void size() {
+        assertEquals(2, schema.size());
+    }
+    
+}
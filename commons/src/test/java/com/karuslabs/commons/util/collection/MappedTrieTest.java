@@ -0,0 +1,178 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class MappedTrieTest {
+    
+    static final Map<String, String> MAP = new HashMap<>();
+    static {
+        MAP.put("", "empty");
+        MAP.put("app", "app_value");
+        MAP.put("apple", "apple_value");
+        MAP.put("application", "application_value");
+        MAP.put("banana", "");
+        MAP.put("anÜb", "anÜb_value");
+    }
+    
+    static MappedTrie<String> write(Map<String, String> map) throws IOException {
+        var trie = new Trie<String>();
+        trie.putAll(map);
+        
+        var stream = new ByteArrayOutputStream();
+        trie.writeTo(Channels.newChannel(stream), value -> value.getBytes(UTF_8));
+        
+        return MappedTrie.of(ByteBuffer.wrap(stream.toByteArray()), buffer -> UTF_8.decode(buffer).toString());
+    }
+    
+    
+    MappedTrie<String> trie;
+    
+    
+    MappedTrieTest() throws IOException {
+        trie = write(MAP);
+    }
+    
+    
+    @Test
+    void of() {
+        assertEquals(MAP, trie);
+        assertEquals(trie, MAP);
+        assertEquals(6, trie.size());
+    }
+    
+    
+    @Test
+    void of_empty() throws IOException {
+        var trie = write(Map.of());
+        
+        assertTrue(trie.isEmpty());
+        assertNull(trie.get("a"));
+        assertTrue(trie.prefixedKeys("").isEmpty());
+    }
+    
+    
+    @Test
+    void of_mapped(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("set.trie");
+        var set = new TrieSet();
+        set.add("tnt");
+        set.add("torch");
+        
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            set.writeTo(channel);
+        }
+        
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var trie = MappedTrie.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            
+            assertEquals(Set.of("tnt", "torch"), trie.keySet());
+            assertEquals(0, trie.get("tnt").remaining());
+        }
+    }
+    
+    
+    @Test
+    void of_throws_exception() {
+        assertEquals(
+            "Buffer does not contain a trie",
+            assertThrows(IllegalArgumentException.class, () -> MappedTrie.of(ByteBuffer.wrap(new byte[]{1, 2, 3}))).getMessage()
+        );
+    }
+    
+    
+    @Test
+    void prefixIterator() {
+        var iterator = trie.prefixIterator("appl");
+        
+        assertEquals("apple", iterator.next().getKey());
+        assertEquals("application", iterator.next().getKey());
+        assertFalse(iterator.hasNext());
+    }
+    
+    
+    @Test
+    void prefixEntries() {
+        var entries = trie.prefixEntries("app");
+        
+        assertEquals(3, entries.size());
+        assertTrue(entries.contains(new AbstractMap.SimpleEntry<>("apple", "apple_value")));
+        assertFalse(entries.contains(new AbstractMap.SimpleEntry<>("apple", "invalid")));
+    }
+    
+    
+    @Test
+    void prefixedKeys() {
+        assertEquals(List.of("app", "apple", "application"), new ArrayList<>(trie.prefixedKeys("app")));
+        assertEquals(List.of("anÜb"), new ArrayList<>(trie.prefixedKeys("anÜ")));
+        assertTrue(trie.prefixedKeys("appz").isEmpty());
+    }
+    
+    
+    @Test
+    void prefixedValues() {
+        assertEquals(List.of("apple_value", "application_value"), new ArrayList<>(trie.prefixedValues("appl")));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"application, application_value", "applicant, ", "appl, ", "'', empty", "banana, ''"})
+    void get(String key, String expected) {
+        assertEquals(expected, trie.get(key));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"'give APPLE now', 5, 10, apple_value", "'give apple now', 5, 10, apple_value", "'give APPLES', 5, 11, "})
+    void getLowercase(String key, int start, int end, String expected) {
+        assertEquals(expected, trie.getLowercase(key, start, end));
+    }
+    
+    
+    @Test
+    void get_throws_exception() {
+        assertEquals("Null keys are not permitted in a trie", assertThrows(NullPointerException.class, () -> trie.get(null)).getMessage());
+    }
+    
+    
+    @Test
+    void put_throws_exception() {
+        assertThrows(UnsupportedOperationException.class, () -> trie.put("a", "b"));
+    }
+    
+}
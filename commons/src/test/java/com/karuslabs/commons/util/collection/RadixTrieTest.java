@@ -0,0 +1,356 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import com.karuslabs.commons.util.collection.RadixTrie.RadixIterator;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class RadixTrieTest {
+    
+    RadixTrie<String> trie = new RadixTrie<>();
+    RadixTrie<String> populated = new RadixTrie<>();
+    
+    
+    RadixTrieTest() {
+        populated.put("app", "app_value");
+        populated.put("apple", "apple_value");
+        populated.put("application", "application_value");
+        populated.put("banana", null);
+    }
+    
+    
+    @Test
+    void prefixIterator() {
+        var keys = new ArrayList<String>();
+        populated.prefixIterator("ap").forEachRemaining(entry -> keys.add(entry.getKey()));
+        
+        assertEquals(List.of("app", "apple", "application"), keys);
+        assertFalse(populated.prefixIterator("apq").hasNext());
+    }
+    
+    
+    @Test
+    void prefixedKeys_limit() {
+        assertEquals(List.of("app", "apple"), populated.prefixedKeys("app", 2));
+        assertEquals(List.of("apple"), populated.prefixedKeys("appl", 1));
+    }
+    
+    
+    @Test
+    void prefixedEntries() {
+        var entries = populated.prefixEntries("app");
+        assertEquals(3, entries.size());
+        assertTrue(entries.contains(new RadixEntry<>(new char[0], "app", "app_value")));
+        assertTrue(entries.contains(new RadixEntry<>(new char[0], "apple", "apple_value")));
+        assertTrue(entries.contains(new RadixEntry<>(new char[0], "application", "application_value")));
+    }
+    
+    
+    @Test
+    void prefixedKeys() {
+        assertEquals(Set.of("app", "apple", "application"), populated.prefixedKeys("app"));
+    }
+    
+    
+    @Test
+    void prefixedKeys_inside_label() {
+        assertEquals(Set.of("apple", "application"), populated.prefixedKeys("appl"));
+        assertEquals(Set.of("banana"), populated.prefixedKeys("ban"));
+    }
+    
+    
+    @Test
+    void prefixedKeys_mismatch() {
+        assertTrue(populated.prefixedKeys("apq").isEmpty());
+        assertTrue(populated.prefixedKeys("applications").isEmpty());
+        assertTrue(populated.prefixedKeys("c").isEmpty());
+    }
+    
+    
+    @Test
+    void prefixedKeys_empty() {
+        assertEquals(Set.of("app", "apple", "application", "banana"), populated.prefixedKeys(""));
+    }
+    
+    
+    @Test
+    void prefixedValues() {
+        var values = populated.prefixedValues("app");
+        assertEquals(3, values.size());
+        assertTrue(values.contains("app_value"));
+        assertTrue(values.contains("apple_value"));
+        assertTrue(values.contains("application_value"));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({", true", "apple_value, true", "value, true", "apply_value, false"})
+    void containsValue(String value, boolean expected) {
+        populated.put("applÜe", "value");
+        assertEquals(expected, populated.containsValue(value));
+    }
+
+    
+    @ParameterizedTest
+    @CsvSource({"app, true", "banana, true", "applicant, false", "ap, false", "bananas, false"})
+    void containsKey(String key, boolean expected) {
+        assertEquals(expected, populated.containsKey(key));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"application, application_value", "applicant, ", "appl, "})
+    void get(String key, String expected) {
+        assertEquals(expected, populated.get(key));
+    }
+    
+    
+    @Test
+    void get_throws_exception() {
+        assertEquals("Null keys are not permitted in a trie", assertThrows(NullPointerException.class, () -> trie.get(null)).getMessage());
+    }
+    
+    
+    @Test
+    void put_new() {
+        assertTrue(trie.isEmpty());
+        
+        assertNull(trie.put("a", "old"));
+        assertEquals("old", trie.get("a"));
+        assertEquals(1, trie.size());
+        assertEquals(1, trie.modifications);
+        
+        assertNull(trie.put("abc", "new"));
+        assertEquals("new", trie.get("abc"));
+        assertEquals(2, trie.size());
+        assertEquals(2, trie.modifications);
+    }
+    
+    
+    @Test
+    void put_replacement() {
+        assertNull(trie.put("a", "old"));
+        assertEquals("old", trie.put("a", "new"));
+        
+        assertEquals("new", trie.get("a"));
+        assertEquals(1, trie.size());
+        assertEquals(2, trie.modifications);
+    }
+    
+    
+    @Test
+    void put_split() {
+        trie.put("application", "application_value");
+        trie.put("apple", "apple_value");
+        
+        var split = trie.root.get('a');
+        assertArrayEquals("appl".toCharArray(), split.label);
+        assertNull(split.key);
+        assertEquals(2, split.children.length);
+        
+        assertNull(trie.put("appl", "appl_value"));
+        assertSame(split, trie.getEntry("appl"));
+        assertEquals(3, trie.size());
+    }
+    
+    
+    @Test
+    void put_empty() {
+        assertNull(populated.put("", "empty"));
+        
+        assertEquals("empty", populated.get(""));
+        assertEquals(5, populated.size());
+        assertTrue(populated.keySet().contains(""));
+    }
+    
+    
+    @Test
+    void remove_merge_parent() {
+        trie.put("apple", "apple_value");
+        trie.put("application", "application_value");
+        trie.put("banana", "banana_value");
+        
+        assertEquals("apple_value", trie.remove("apple"));
+        
+        var merged = trie.root.get('a');
+        assertArrayEquals("application".toCharArray(), merged.label);
+        assertEquals("application", merged.key);
+        assertEquals("application_value", trie.get("application"));
+        assertEquals(2, trie.size());
+    }
+    
+    
+    @Test
+    void remove_merge_child() {
+        assertEquals("app_value", populated.remove("app"));
+        
+        var entry = populated.root.get('a');
+        assertArrayEquals("appl".toCharArray(), entry.label);
+        assertEquals("apple_value", populated.get("apple"));
+        assertEquals("application_value", populated.get("application"));
+        assertNull(populated.get("app"));
+        assertEquals(3, populated.size());
+    }
+    
+    
+    @Test
+    void remove_preserve_siblings() {
+        assertEquals("application_value", populated.remove("application"));
+        
+        assertEquals("app_value", populated.get("app"));
+        assertEquals("apple_value", populated.get("apple"));
+        assertEquals(3, populated.size());
+        assertEquals(5, populated.modifications);
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"ap", "appl", "apples", "c"})
+    void remove_absent(String key) {
+        assertNull(populated.remove(key));
+        assertEquals(4, populated.size());
+    }
+    
+    
+    @Test
+    void clear() {
+        populated.clear();
+        
+        assertTrue(populated.isEmpty());
+        assertEquals(5, populated.modifications);
+        assertNull(populated.get("app"));
+        assertFalse(populated.keySet().iterator().hasNext());
+    }
+    
+    
+    @Test
+    void entryset_contains() {
+        var entries = populated.entrySet();
+        assertEquals(4, entries.size());
+        
+        assertTrue(entries.contains(new RadixEntry<>(new char[0], "app", "app_value")));
+        assertFalse(entries.contains(new RadixEntry<>(new char[0], "invalid", "apple_value")));
+        assertFalse(entries.contains(new RadixEntry<>(new char[0], "apple", "invalid")));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"app, app_value, true, 3", "apple, invalid_value, false, 4", "appli, application_value, false, 4"})
+    void entryset_remove(String key, String value, boolean expected, int size) {
+        var entries = populated.entrySet();
+        
+        assertEquals(expected, entries.remove(new RadixEntry<>(new char[0], key, value)));
+        assertEquals(size, entries.size());
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"app, true, 3", "appl, false, 4", "banana, true, 3"})
+    void keyset_remove(String key, boolean expected, int size) {
+        var keys = populated.keySet();
+        
+        assertEquals(expected, keys.remove(key));
+        assertEquals(size, keys.size());
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"app_value, true, 3", ", true, 3", "application, false, 4"})
+    void values_remove(String value, boolean expected, int size) {
+        var values = populated.values();
+        
+        assertEquals(expected, values.remove(value));
+        assertEquals(size, values.size());
+    }
+    
+    
+    @Test
+    void iterator_next() {
+        populated.put("anÜb", "value");
+        
+        var keys = new HashSet<String>();
+        for (var key : populated.keySet()) {
+            keys.add(key);
+        }
+        
+        assertEquals(Set.of("app", "apple", "application", "anÜb", "banana"), keys);
+    }
+    
+    
+    @Test
+    void iterator_next_throws_concurrent_exception() {
+        var iterator = populated.keySet().iterator();
+        populated.put("new", "value");
+        
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+    
+    
+    @Test
+    void iterator_next_throws_empty_exception() {
+        assertThrows(NoSuchElementException.class, trie.keySet().iterator()::next);
+    }
+    
+    
+    @Test
+    void iterator_remove_throws_state_exception() {
+        var iterator = populated.keySet().iterator();
+        iterator.next();
+        iterator.remove();
+        
+        assertThrows(IllegalStateException.class, iterator::remove);
+    }
+    
+    
+    @Test
+    void iterator_remove() {
+        var iterator = (RadixIterator) populated.keySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        
+        assertTrue(populated.isEmpty());
+        assertEquals(populated.modifications, iterator.expectedModifications);
+    }
+    
+    
+    @Test
+    void values_iterator() {
+        var values = new ArrayList<String>();
+        populated.values().forEach(values::add);
+        
+        assertEquals(4, values.size());
+        assertTrue(values.containsAll(Arrays.asList("app_value", "apple_value", "application_value", null)));
+    }
+
+} 
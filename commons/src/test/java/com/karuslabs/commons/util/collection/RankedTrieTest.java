@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.collection;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class RankedTrieTest {
+    
+    RankedTrie<String> trie = new RankedTrie<>();
+    
+    
+    RankedTrieTest() {
+        trie.put("app", "app_value", 1);
+        trie.put("apple", "apple_value", 5);
+        trie.put("application", "application_value", 3);
+        trie.put("apply", "apply_value");
+        trie.put("banana", "banana_value", 4);
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({
+        "'', 3, apple|banana|application",
+        "app, 10, apple|application|app|apply",
+        "appl, 2, apple|application",
+        "b, 5, banana",
+        "c, 5, ''",
+        "app, 0, ''"
+    })
+    void top(String prefix, int limit, String expected) {
+        assertEquals(expected.isEmpty() ? List.of() : List.of(expected.split("\\|")), trie.top(prefix, limit));
+    }
+    
+    
+    @Test
+    void top_ties() {
+        var trie = new RankedTrie<String>();
+        for (var key : List.of("b", "ab", "a", "abc", "ba")) {
+            trie.put(key, key);
+        }
+        
+        assertEquals(List.of("a", "ab", "abc", "b", "ba"), trie.top("", 10));
+    }
+    
+    
+    @Test
+    void bump() {
+        assertTrue(trie.bump("apply", 10));
+        assertEquals(10, trie.weight("apply"));
+        assertEquals(List.of("apply", "apple"), trie.top("", 2));
+        
+        assertTrue(trie.bump("apply", -20));
+        assertEquals(List.of("apple", "banana"), trie.top("", 2));
+        assertEquals(List.of("apple", "application", "app", "apply"), trie.top("app", 4));
+    }
+    
+    
+    @Test
+    void bump_put_weight() {
+        assertTrue(trie.bump("apply", 10));
+        trie.put("apply", "new", 2);
+        
+        assertEquals(2, trie.weight("apply"));
+        assertEquals(List.of("apple", "banana", "application", "apply"), trie.top("", 4));
+    }
+    
+    
+    @Test
+    void bump_remove() {
+        assertTrue(trie.bump("apple", 10));
+        trie.remove("apple");
+        
+        assertEquals(List.of("banana", "application"), trie.top("", 2));
+        assertTrue(trie.bumped.isEmpty());
+    }
+    
+    
+    @Test
+    void bump_absent() {
+        assertFalse(trie.bump("appl"));
+        assertFalse(trie.bump("cherry"));
+        assertEquals(0, trie.weight("cherry"));
+    }
+    
+    
+    @Test
+    void bump_concurrently() throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4000; i++) {
+            executor.submit(() -> trie.bump("app"));
+        }
+        
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(4001, trie.weight("app"));
+        assertEquals(List.of("app"), trie.top("", 1));
+    }
+    
+    
+    @Test
+    void get() {
+        assertEquals("apple_value", trie.get("apple"));
+        assertNull(trie.get("appl"));
+        assertTrue(trie.containsKey("apply"));
+        assertFalse(trie.containsKey("appl"));
+    }
+    
+    
+    @Test
+    void put() {
+        assertEquals("apple_value", trie.put("apple", "new"));
+        
+        assertEquals("new", trie.get("apple"));
+        assertEquals(5, trie.weight("apple"));
+        assertEquals(5, trie.size());
+    }
+    
+    
+    @Test
+    void put_weight() {
+        assertEquals("apple_value", trie.put("apple", "new", 0));
+        
+        assertEquals(List.of("banana", "application"), trie.top("", 2));
+    }
+    
+    
+    @Test
+    void remove() {
+        assertEquals("apple_value", trie.remove("apple"));
+        assertNull(trie.remove("apple"));
+        
+        assertEquals(4, trie.size());
+        assertEquals(List.of("banana", "application"), trie.top("", 2));
+        assertEquals(List.of("application", "app", "apply"), trie.top("app", 5));
+    }
+    
+    
+    @Test
+    void remove_all() {
+        for (var key : List.of("app", "apple", "application", "apply", "banana")) {
+            trie.remove(key);
+        }
+        
+        assertTrue(trie.isEmpty());
+        assertTrue(trie.top("", 5).isEmpty());
+        assertEquals(0, trie.root.children.length);
+    }
+    
+}
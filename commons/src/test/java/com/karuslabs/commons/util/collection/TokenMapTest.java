@@ -25,7 +25,7 @@ package com.karuslabs.commons.util.collection;
 
 import com.karuslabs.commons.util.collection.TokenMap.Key;
 
-import java.util.HashMap;
+import java.util.*;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -109,7 +109,289 @@ class TokenMapTest {
     static Stream<TokenMap<String, Object>> maps() {
         TokenMap<String, Object> hashed = TokenMap.of(1);
         TokenMap<String, Object> proxied = TokenMap.of(new HashMap<>());
-        return Stream.of(hashed, proxied);
+        TokenMap<String, Object> weak = TokenMap.weak();
+        TokenMap<String, Object> schema = TokenMap.of(KeySchema.<String, Object>of(TokenMap.key("a", int.class), TokenMap.key("b", String.class)));
+        TokenMap<String, Object> copied = new CopyOnWriteTokenMap<>();
+        return Stream.of(hashed, proxied, weak, schema, copied);
+    }
+    
+}
+
+
+class ArrayTokenMapTest {
+    
+    ArrayTokenMap<String, Object> map = new ArrayTokenMap<>(1);
+    
+    
+    @Test
+    void put_resize() {
+        for (int i = 0; i < 1000; i++) {
+            map.put("" + i, Integer.class, i);
+            map.put("" + i, String.class, "" + i);
+        }
+        
+        assertEquals(2000, map.size);
+        assertTrue(map.types.length <= 4096);
+        
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) map.get("" + i, Integer.class));
+            assertEquals("" + i, map.get("" + i, String.class));
+        }
+    }
+    
+    
+    @Test
+    void put_replace() {
+        // Fills the map until the next insertion resizes the tables
+        for (int i = 0; i < 6 || 4 * (map.used + 1) <= 3 * map.types.length; i++) {
+            map.put("" + i, String.class, "" + i);
+        }
+        
+        var size = map.size;
+        var types = map.types;
+        var keys = new ArrayList<Key<String, ?>>();
+        for (var entry : map.map().entrySet()) {
+            keys.add(entry.getKey());
+            map.put("0", String.class, "x");
+        }
+        
+        assertSame(types, map.types);
+        assertEquals(size, keys.size());
+        assertEquals(size, Set.copyOf(keys).size());
+        assertEquals("x", map.get("0", String.class));
+    }
+    
+    
+    @Test
+    void put_null() {
+        map.put(null, String.class, "a");
+        map.put("b", String.class, null);
+        
+        assertEquals("a", map.get(null, String.class));
+        assertTrue(map.containsKey("b", String.class));
+        assertNull(map.get("b", String.class));
+        assertTrue(map.containsValue(null));
+    }
+    
+    
+    @Test
+    void put_null_type() {
+        assertThrows(NullPointerException.class, () -> map.put("a", null, "b"));
+        assertNull(map.get("a", null));
+    }
+    
+    
+    @Test
+    void remove_reuse() {
+        for (int i = 0; i < 100; i++) {
+            map.put("a", String.class, "" + i);
+            assertEquals("" + i, map.remove("a", String.class));
+        }
+        
+        assertEquals(0, map.size);
+        assertTrue(map.types.length <= 4);
+        assertNull(map.remove("a", String.class));
+    }
+    
+    
+    @Test
+    void remove_probe() {
+        for (int i = 0; i < 6; i++) {
+            map.put("" + i, Integer.class, i);
+        }
+        
+        for (int i = 0; i < 6; i += 2) {
+            map.remove("" + i, Integer.class);
+        }
+        
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i % 2 == 1, map.containsKey("" + i, Integer.class));
+        }
+    }
+    
+    
+    @Test
+    void map() {
+        map.put("a", String.class, "b");
+        map.put("a", Integer.class, 1);
+        map.put("c", String.class, "d");
+        
+        var expected = new HashMap<Key<String, ?>, Object>();
+        expected.put(TokenMap.key("a", String.class), "b");
+        expected.put(TokenMap.key("a", Integer.class), 1);
+        expected.put(TokenMap.key("c", String.class), "d");
+        
+        assertEquals(expected, map.map());
+        assertEquals(map.map(), expected);
+        assertEquals(expected.hashCode(), map.map().hashCode());
+        assertEquals(1, map.map().get(TokenMap.key("a", Integer.class)));
+    }
+    
+    
+    @Test
+    void map_iterator_remove() {
+        map.put("a", String.class, "b");
+        map.put("a", Integer.class, 1);
+        map.put("c", String.class, "d");
+        
+        map.map().entrySet().removeIf(entry -> entry.getKey().type == String.class);
+        
+        assertEquals(Map.of(TokenMap.key("a", Integer.class), 1), map.map());
+    }
+    
+    
+    @Test
+    void map_iterator_setValue() {
+        map.put("a", String.class, "b");
+        
+        map.map().entrySet().iterator().next().setValue("c");
+        
+        assertEquals("c", map.get("a", String.class));
+    }
+    
+    
+    @Test
+    void map_iterator_throws_exception() {
+        map.put("a", String.class, "b");
+        var iterator = map.map().entrySet().iterator();
+        
+        map.put("c", String.class, "d");
+        
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+    
+    
+    @Test
+    void map_clear() {
+        map.put("a", String.class, "b");
+        map.map().clear();
+        
+        assertTrue(map.map().isEmpty());
+        assertFalse(map.containsKey("a", String.class));
+    }
+    
+}
+
+
+class SchemaTokenMapTest {
+    
+    static final Key<String, Integer> A = TokenMap.key("a", Integer.class);
+    static final Key<String, String> B = TokenMap.key("b", String.class);
+    static final KeySchema<String, Object> SCHEMA = KeySchema.of(A, B);
+    
+    SchemaTokenMap<String, Object> map = TokenMap.of(SCHEMA);
+    
+    
+    @Test
+    void put_slot() {
+        assertNull(map.put(A, 1));
+        assertEquals(1, (int) map.put("a", Integer.class, 2));
+        
+        assertEquals(2, map.values[0]);
+        assertEquals(1, map.size);
+        assertNull(map.overflow);
+        assertEquals(2, (int) map.get(TokenMap.key("a", Integer.class)));
+    }
+    
+    
+    @Test
+    void slot() {
+        assertNull(map.put(1, "b"));
+        assertEquals("b", map.put(1, "c"));
+        
+        assertTrue(map.containsKey(1));
+        assertFalse(map.containsKey(0));
+        assertEquals("c", map.get(1, String.class));
+        assertEquals("c", map.get(B));
+        assertEquals(1, map.size);
+        
+        assertEquals("c", map.remove(1, String.class));
+        assertNull(map.remove(1, String.class));
+        assertNull(map.get(1, String.class));
+        assertEquals(0, map.size);
+    }
+    
+    
+    @Test
+    void put_overflow() {
+        map.put("c", String.class, "d");
+        
+        assertEquals(0, map.size);
+        assertEquals("d", map.overflow.get("c", String.class));
+        assertEquals("d", map.get(TokenMap.key("c", String.class)));
+        assertEquals(1, map.map().size());
+    }
+    
+    
+    @Test
+    void put_null() {
+        map.put(B, null);
+        
+        assertTrue(map.containsKey(B));
+        assertNull(map.get(B));
+        assertEquals("c", map.getOrDefault(B, "c"));
+        assertTrue(map.containsValue(null));
+    }
+    
+    
+    @Test
+    void remove() {
+        map.put(A, 1);
+        map.put("c", String.class, "d");
+        
+        assertEquals(1, (int) map.remove(A));
+        assertNull(map.remove(A));
+        assertEquals("d", map.remove("c", String.class));
+        
+        assertFalse(map.containsKey(A));
+        assertTrue(map.map().isEmpty());
+    }
+    
+    
+    @Test
+    void map_iterator() {
+        map.put(B, "b");
+        map.put("c", String.class, "d");
+        
+        var iterator = map.map().entrySet().iterator();
+        
+        var entry = iterator.next();
+        assertSame(B, entry.getKey());
+        assertEquals("b", entry.setValue("e"));
+        assertEquals("e", map.get(B));
+        
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        
+        assertEquals(TokenMap.key("c", String.class), iterator.next().getKey());
+        iterator.remove();
+        
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertTrue(map.map().isEmpty());
+    }
+    
+    
+    @Test
+    void map_clear() {
+        map.put(A, 1);
+        map.put("c", String.class, "d");
+        
+        map.map().clear();
+        
+        assertFalse(map.containsKey(A));
+        assertFalse(map.containsKey("c", String.class));
+        assertEquals(0, map.map().size());
+    }
+    
+    
+    @Test
+    void map_equals() {
+        map.put(A, 1);
+        map.put("c", String.class, "d");
+        
+        assertEquals(Map.of(A, 1, TokenMap.key("c", String.class), "d"), map.map());
+        assertEquals(map.map(), Map.of(A, 1, TokenMap.key("c", String.class), "d"));
     }
     
 }
@@ -132,6 +414,12 @@ class KeyTest {
     }
     
     
+    @Test
+    void hashCode_value() {
+        assertEquals(31 * "name".hashCode() + System.identityHashCode(String.class), key.hashCode());
+    }
+    
+    
     @Test
     void toString_value() {
         assertEquals("Key[name: \"name\" class: java.lang.String]", key.toString());
@@ -142,6 +142,39 @@ class TrieEntryTest {
     }
     
     
+    @Test
+    void entries_sorted() {
+        entry.add('ü');
+        entry.add('b');
+        entry.add('\u0001');
+        entry.add('a');
+        entry.add('\u00ff');
+        
+        assertEquals(5, entry.entries.length);
+        assertEquals('\u0001', entry.entries[0].character);
+        assertEquals('a', entry.entries[1].character);
+        assertEquals('b', entry.entries[2].character);
+        assertEquals('ü', entry.entries[3].character);
+        assertEquals('\u00ff', entry.entries[4].character);
+    }
+    
+    
+    @ParameterizedTest
+    @ValueSource(chars = {'\u0000', '?', '@', '\u007f', '\u0080', '\uffff'})
+    void add_get_remove_boundaries(char character) {
+        entry.add((char) (character ^ 1));
+        entry.add(character, "key", "value");
+        
+        assertEquals("key", entry.get(character).key);
+        assertEquals(character ^ 1, entry.get((char) (character ^ 1)).character);
+        
+        assertEquals("key", entry.remove(character).key);
+        assertNull(entry.get(character));
+        assertNotNull(entry.get((char) (character ^ 1)));
+        assertEquals(1, entry.entries.length);
+    }
+    
+    
     @Test
     void clear() {
         entry.add('a');
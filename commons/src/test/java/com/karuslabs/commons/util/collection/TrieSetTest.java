@@ -23,6 +23,8 @@
  */
 package com.karuslabs.commons.util.collection;
 
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +52,19 @@ class TrieSetTest {
     }
     
     
+    @Test
+    void startsWith_radix() {
+        set = new TrieSet(new RadixTrie<>());
+        set.add("app");
+        set.add("apple");
+        set.add("application");
+        
+        assertEquals(Set.of("apple", "application"), set.startsWith("appl"));
+        assertTrue(set.remove("apple"));
+        assertEquals(Set.of("application"), set.startsWith("appl"));
+    }
+    
+    
     @Test
     void add() {
         assertTrue(set.add("lol"));
@@ -31,6 +31,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.*;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -54,6 +55,212 @@ class TrieTest {
     }
     
     
+    @Test
+    void of() {
+        var map = new TreeMap<String, String>();
+        map.put("", "empty");
+        map.put("a\u0001", "control");
+        map.put("aZ", "Z");
+        map.put("aÜb", "Üb");
+        map.put("aÜ", "Ü");
+        map.put("ab", null);
+        map.put("app", "app_value");
+        map.put("apple", "apple_value");
+        map.put("application", "application_value");
+        map.put("banana", null);
+        
+        var expected = new Trie<String>();
+        expected.putAll(map);
+        
+        var trie = Trie.of(map);
+        
+        assertEquals(map, trie);
+        assertEquals(List.copyOf(map.keySet()), List.copyOf(trie.keySet()));
+        assertStructure(expected.root, trie.root);
+    }
+    
+    static void assertStructure(TrieEntry<String> expected, TrieEntry<String> actual) {
+        assertEquals(expected.character, actual.character);
+        assertEquals(expected.key, actual.key);
+        assertEquals(expected.value, actual.value);
+        assertEquals(expected.size, actual.size);
+        assertEquals(expected.low, actual.low);
+        assertEquals(expected.high, actual.high);
+        assertArrayEquals(expected.expanded, actual.expanded);
+        assertEquals(expected.children, actual.children);
+        assertEquals(expected.entries.length, actual.entries.length);
+        
+        for (int i = 0; i < expected.entries.length; i++) {
+            assertSame(actual, actual.entries[i].parent);
+            assertStructure(expected.entries[i], actual.entries[i]);
+        }
+    }
+    
+    
+    @Test
+    void of_comparator() {
+        var map = new TreeMap<String, String>(Comparator.reverseOrder());
+        map.put("apple", "apple_value");
+        map.put("app", "app_value");
+        map.put("b", "b_value");
+        
+        var trie = Trie.of(map);
+        
+        assertEquals(map, trie);
+        assertEquals(List.of("app", "apple", "b"), List.copyOf(trie.keySet()));
+    }
+    
+    
+    @Test
+    void of_empty() {
+        var trie = Trie.of(new TreeMap<String, String>());
+        
+        assertTrue(trie.isEmpty());
+        trie.put("a", "b");
+        assertEquals(Map.of("a", "b"), trie);
+    }
+    
+    
+    @Test
+    void bulkLoad_modifiable() {
+        var trie = Trie.bulkLoad(new TreeMap<>(Map.of("app", "app_value", "apple", "apple_value", "banana", "banana_value")).entrySet().iterator());
+        
+        trie.put("application", "application_value");
+        trie.remove("apple");
+        
+        assertEquals(Map.of("app", "app_value", "application", "application_value", "banana", "banana_value"), trie);
+        assertEquals(2, trie.prefixCount("app"));
+        assertEquals(2, trie.rank("banana"));
+        assertEquals("application", trie.select(1));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"b, a", "a, a"})
+    void bulkLoad_throws_exception(String first, String second) {
+        var entries = List.of(Map.entry(first, "value"), Map.entry(second, "value"));
+        
+        assertEquals(
+            "Keys must be unique and in ascending order, \"" + second + "\" follows \"" + first + "\"",
+            assertThrows(IllegalArgumentException.class, () -> Trie.bulkLoad(entries.iterator())).getMessage()
+        );
+    }
+    
+    
+    @Test
+    void bulkLoad_null_key() {
+        var entries = new ArrayList<Map.Entry<String, String>>();
+        entries.add(new AbstractMap.SimpleEntry<>(null, "value"));
+        
+        assertThrows(NullPointerException.class, () -> Trie.bulkLoad(entries.iterator()));
+    }
+    
+    
+    @Test
+    void prefixIterator_sorted() {
+        trie.put("a", "a");
+        trie.put("b", "b");
+        trie.put("a\u0001", "control");
+        trie.put("aZ", "Z");
+        trie.put("aÜ", "Ü");
+        trie.put("ab", "ab");
+        
+        var iterator = trie.prefixIterator("a");
+        var keys = new ArrayList<String>();
+        iterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+        
+        assertEquals(List.of("a", "a\u0001", "aZ", "ab", "aÜ"), keys);
+    }
+    
+    
+    @Test
+    void prefixIterator_unknown() {
+        assertFalse(populated.prefixIterator("apq").hasNext());
+    }
+    
+    
+    @Test
+    void prefixStream() {
+        assertEquals(List.of("app", "apple"), populated.prefixStream("app").limit(2).map(Map.Entry::getKey).collect(toList()));
+        assertEquals(3, populated.prefixStream("app").count());
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"0, ''", "2, app|apple", "10, app|apple|application"})
+    void prefixedKeys_limit(int limit, String expected) {
+        assertEquals(expected.isEmpty() ? List.of() : List.of(expected.split("\\|")), populated.prefixedKeys("app", limit));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({
+        "aple, 1, 3, apple",
+        "aple, 2, 3, apple|app",
+        "aple, 2, 1, apple",
+        "applicaton, 2, 3, application",
+        "bananna, 1, 3, banana",
+        "xyz, 2, 3, ''",
+        "apple, 2, 0, ''"
+    })
+    void fuzzy(String key, int distance, int limit, String expected) {
+        assertEquals(expected.isEmpty() ? List.of() : List.of(expected.split("\\|")), populated.fuzzy(key, distance, limit));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"'', 4", "app, 3", "appl, 2", "b, 1", "c, 0"})
+    void prefixCount(String prefix, int expected) {
+        assertEquals(expected, populated.prefixCount(prefix));
+    }
+    
+    
+    @Test
+    void prefixCount_remove() {
+        populated.remove("apple");
+        populated.put("apples", "apples_value");
+        populated.remove("app");
+        
+        assertEquals(2, populated.prefixCount("app"));
+        assertEquals(3, populated.prefixCount(""));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"'', 0, 2, app|apple", "'', 2, 2, application|banana", "'', 3, 5, banana", "app, 1, 5, apple|application", "appl, 1, 1, application", "'', 4, 2, ''", "c, 0, 2, ''"})
+    void prefixedKeys_page(String prefix, int offset, int limit, String expected) {
+        assertEquals(expected.isEmpty() ? List.of() : List.of(expected.split("\\|")), populated.prefixedKeys(prefix, offset, limit));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"-1, 1, 'Illegal offset: -1'", "0, -1, 'Illegal limit: -1'"})
+    void prefixedKeys_page_illegal(int offset, int limit, String message) {
+        assertEquals(message, assertThrows(IllegalArgumentException.class, () -> populated.prefixedKeys("app", offset, limit)).getMessage());
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"'', 0", "app, 0", "apple, 1", "application, 2", "banana, 3", "applicant, 2", "b, 3", "c, 4", "ap, 0", "apz, 3"})
+    void rank(String key, int expected) {
+        assertEquals(expected, populated.rank(key));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"0, app", "1, apple", "2, application", "3, banana"})
+    void select(int index, String expected) {
+        assertEquals(expected, populated.select(index));
+        assertEquals(index, populated.rank(expected));
+    }
+    
+    
+    @Test
+    void select_throws_exception() {
+        assertThrows(IndexOutOfBoundsException.class, () -> populated.select(4));
+    }
+    
+    
     @Test
     void prefixedEntries() {
         var entries = populated.prefixEntries("app");
@@ -119,6 +326,20 @@ class TrieTest {
     }
     
     
+    @ParameterizedTest
+    @CsvSource({"'give application now', 5, 16, application_value", "'give APPLE now', 5, 10, ", "'apples', 0, 5, apple_value", "'apples', 0, 6, "})
+    void get_range(String key, int start, int end, String expected) {
+        assertEquals(expected, populated.get(key, start, end));
+    }
+    
+    
+    @ParameterizedTest
+    @CsvSource({"'give APPLE now', 5, 10, apple_value", "'give Apple', 5, 10, apple_value", "'give APPLES', 5, 11, "})
+    void getLowercase(String key, int start, int end, String expected) {
+        assertEquals(expected, populated.getLowercase(new StringBuilder(key), start, end));
+    }
+    
+    
     @Test
     void get_throws_exception() {
         assertEquals("Null keys are not permitted in a trie", assertThrows(NullPointerException.class, () -> trie.get(null)).getMessage());
@@ -172,6 +393,29 @@ class TrieTest {
     }
     
     
+    @Test
+    void put_prefix_of_existing() {
+        trie.put("abc", "abc");
+        
+        assertNull(trie.put("a", "a"));
+        assertEquals(2, trie.size());
+        assertEquals("abc", trie.get("abc"));
+        assertEquals("a", trie.get("a"));
+    }
+    
+    
+    @Test
+    void put_empty_key() {
+        assertNull(trie.put("", "empty"));
+        trie.put("a", "a");
+        
+        assertEquals("empty", trie.get(""));
+        assertEquals(Set.of("", "a"), trie.keySet());
+        assertEquals("empty", trie.remove(""));
+        assertEquals(Set.of("a"), trie.keySet());
+    }
+    
+    
     @Test
     void remove_preserve_parent_chain() {
         assertEquals("application_value", populated.remove("application"));
@@ -196,6 +440,17 @@ class TrieTest {
     }
     
     
+    @Test
+    void remove_preserve_siblings() {
+        trie.put("ab", "ab");
+        trie.put("ac", "ac");
+        
+        assertEquals("ab", trie.remove("ab"));
+        assertEquals("ac", trie.get("ac"));
+        assertEquals(1, trie.prefixCount("a"));
+    }
+    
+    
     @Test
     void remove_preserve_root() {
         populated.remove("banana");
@@ -366,4 +621,113 @@ class TrieTest {
         assertTrue(set.contains(iterator.next()));
     }
 
+    
+    
+    @Test
+    void spliterator() {
+        var spliterator = populated.keySet().spliterator();
+        assertEquals(4, spliterator.getExactSizeIfKnown());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        
+        var split = spliterator.trySplit();
+        assertEquals(4, split.estimateSize() + spliterator.estimateSize());
+        
+        var keys = new HashSet<String>();
+        split.forEachRemaining(keys::add);
+        while (spliterator.tryAdvance(keys::add));
+        
+        assertEquals(Set.of("app", "apple", "application", "banana"), keys);
+        assertEquals(0, spliterator.estimateSize());
+    }
+    
+    
+    @Test
+    void spliterator_split_exhaustively() {
+        trie.put("", "empty");
+        for (int i = 0; i < 1000; i++) {
+            trie.put(Integer.toString(i, 7) + (char) (200 + i % 3), "value");
+        }
+        
+        var spliterators = new ArrayDeque<Spliterator<String>>();
+        spliterators.add(trie.keySet().spliterator());
+        
+        var keys = new ArrayList<String>();
+        while (!spliterators.isEmpty()) {
+            var spliterator = spliterators.poll();
+            var size = spliterator.estimateSize();
+            var split = spliterator.trySplit();
+            
+            if (split == null) {
+                spliterator.forEachRemaining(keys::add);
+                
+            } else {
+                assertEquals(size, split.estimateSize() + spliterator.estimateSize());
+                spliterators.add(split);
+                spliterators.add(spliterator);
+            }
+        }
+        
+        assertEquals(1001, keys.size());
+        assertEquals(trie.keySet(), new HashSet<>(keys));
+    }
+    
+    
+    @Test
+    void spliterator_split_ordered() {
+        for (var key : List.of("a", "ab", "ac", "ad", "ae")) {
+            trie.put(key, key);
+        }
+        
+        for (int i = 0; i < 1000; i++) {
+            trie.put(Integer.toString(i, 7), "value");
+        }
+        
+        var keys = new ArrayList<String>();
+        split(trie.keySet().spliterator(), keys);
+        
+        assertEquals(new ArrayList<>(trie.keySet()), keys);
+    }
+    
+    void split(Spliterator<String> spliterator, List<String> keys) {
+        var prefix = spliterator.trySplit();
+        if (prefix == null) {
+            spliterator.forEachRemaining(keys::add);
+            
+        } else {
+            split(prefix, keys);
+            split(spliterator, keys);
+        }
+    }
+    
+    
+    @Test
+    void spliterator_throws_exception() {
+        var spliterator = populated.entrySet().spliterator();
+        
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.forEachRemaining(entry -> populated.put("cherry", null)));
+    }
+    
+    
+    @Test
+    void parallelStream_order() {
+        for (var key : List.of("a", "ab", "ac", "ad", "ae")) {
+            trie.put(key, key);
+        }
+        
+        assertEquals(List.of("a", "ab", "ac", "ad", "ae"), trie.keySet().parallelStream().collect(toList()));
+    }
+    
+    
+    @Test
+    void parallelStream() {
+        for (int i = 0; i < 10000; i++) {
+            trie.put("key" + i, "value" + i);
+        }
+        
+        trie.entrySet().parallelStream().forEach(entry -> entry.setValue(entry.getValue().toUpperCase()));
+        
+        assertEquals(10000, trie.values().parallelStream().filter(value -> value.startsWith("VALUE")).count());
+        assertEquals("VALUE42", trie.get("key42"));
+    }
+
 } 
@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class AsyncLockTest {
+    
+    AsyncLock lock = new AsyncLock();
+    
+    
+    @Test
+    void holdAsync() {
+        var first = lock.holdAsync();
+        var second = lock.holdAsync();
+        var third = lock.holdAsync();
+        
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertTrue(lock.isLocked());
+        assertEquals(2, lock.getQueueLength());
+        
+        first.join().close();
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        
+        second.join().close();
+        third.join().close();
+        
+        assertFalse(lock.isLocked());
+        assertEquals(0, lock.getQueueLength());
+    }
+    
+    
+    @Test
+    void holdAsync_fifo() {
+        var order = new ArrayList<Integer>();
+        var mutex = lock.tryHold();
+        
+        for (int i = 0; i < 5; i++) {
+            var index = i;
+            lock.holdAsync().thenAccept(held -> {
+                order.add(index);
+                held.close();
+            });
+        }
+        
+        mutex.close();
+        
+        assertEquals(List.of(0, 1, 2, 3, 4), order);
+        assertFalse(lock.isLocked());
+    }
+    
+    
+    @Test
+    void holdAsync_deep() {
+        var mutex = lock.tryHold();
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        
+        for (int i = 0; i < 100_000; i++) {
+            futures.add(lock.holdAsync().thenAccept(Mutex::close));
+        }
+        
+        mutex.close();
+        
+        assertTrue(futures.stream().allMatch(future -> future.isDone() && !future.isCompletedExceptionally()));
+        assertFalse(lock.isLocked());
+        assertEquals(0, lock.getQueueLength());
+    }
+    
+    
+    @Test
+    void holdAsync_executor() {
+        var executor = new Deferred();
+        
+        var first = lock.holdAsync(executor);
+        assertFalse(first.isDone());
+        assertTrue(lock.isLocked());
+        
+        executor.run();
+        assertTrue(first.isDone());
+        
+        var second = lock.holdAsync(executor);
+        first.join().close();
+        assertFalse(second.isDone());
+        
+        executor.run();
+        second.join().close();
+        assertFalse(lock.isLocked());
+    }
+    
+    
+    @Test
+    void holdAsync_rejected() {
+        var mutex = lock.tryHold();
+        var rejected = lock.holdAsync(runnable -> { throw new RejectedExecutionException(); });
+        var next = lock.holdAsync();
+        
+        mutex.close();
+        
+        assertTrue(rejected.isCompletedExceptionally());
+        assertTrue(next.isDone());
+    }
+    
+    
+    @Test
+    void holdAsync_cancelled() {
+        var mutex = lock.tryHold();
+        var cancelled = lock.holdAsync();
+        var next = lock.holdAsync();
+        
+        cancelled.cancel(false);
+        mutex.close();
+        
+        assertTrue(next.isDone());
+        assertEquals(0, lock.getQueueLength());
+        
+        next.join().close();
+        assertFalse(lock.isLocked());
+    }
+    
+    
+    @Test
+    void holdAsync_cancelled_executor() {
+        var executor = new Deferred();
+        var mutex = lock.tryHold();
+        var cancelled = lock.holdAsync(executor);
+        var next = lock.holdAsync();
+        
+        mutex.close();
+        cancelled.cancel(false);
+        executor.run();
+        
+        assertTrue(next.isDone());
+    }
+    
+    
+    @Test
+    void tryHold() {
+        var mutex = lock.tryHold();
+        
+        assertNotNull(mutex);
+        assertNull(lock.tryHold());
+        
+        mutex.close();
+        assertNotNull(lock.tryHold());
+    }
+    
+    
+    @Test
+    void close_twice() {
+        var mutex = lock.tryHold();
+        mutex.close();
+        
+        assertEquals("Lock has already been released", assertThrows(IllegalStateException.class, mutex::close).getMessage());
+        assertFalse(lock.isLocked());
+    }
+    
+    
+    @Test
+    void holdAsync_concurrent() throws InterruptedException {
+        var executor = Executors.newFixedThreadPool(4);
+        var count = new int[1];
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        
+        try {
+            for (int i = 0; i < 1000; i++) {
+                futures.add(lock.holdAsync(executor).thenAccept(mutex -> {
+                    count[0]++;
+                    mutex.close();
+                }));
+            }
+            
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(1000, count[0]);
+        assertFalse(lock.isLocked());
+    }
+    
+}
+
+
+class Deferred implements Executor {
+    
+    final Deque<Runnable> tasks = new ArrayDeque<>();
+    
+    
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+    }
+    
+    void run() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+    
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class AsyncReadWriteLockTest {
+    
+    AsyncReadWriteLock lock = new AsyncReadWriteLock();
+    
+    
+    @Test
+    void readLock_shared() {
+        var first = lock.readLock().holdAsync();
+        var second = lock.readLock().holdAsync();
+        
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals(2, lock.getReadLockCount());
+        
+        first.join().close();
+        second.join().close();
+        assertEquals(0, lock.getReadLockCount());
+    }
+    
+    
+    @Test
+    void writeLock_exclusive() {
+        var read = lock.readLock().holdAsync();
+        var write = lock.writeLock().holdAsync();
+        var later = lock.readLock().holdAsync();
+        
+        assertTrue(read.isDone());
+        assertFalse(write.isDone());
+        assertFalse(later.isDone());
+        assertEquals(2, lock.getQueueLength());
+        
+        read.join().close();
+        assertTrue(write.isDone());
+        assertTrue(lock.isWriteLocked());
+        assertFalse(later.isDone());
+        
+        write.join().close();
+        assertTrue(later.isDone());
+        assertFalse(lock.isWriteLocked());
+        assertEquals(1, lock.getReadLockCount());
+    }
+    
+    
+    @Test
+    void release_readers() {
+        var write = lock.writeLock().tryHold();
+        var first = lock.readLock().holdAsync();
+        var second = lock.readLock().holdAsync();
+        var writer = lock.writeLock().holdAsync();
+        var third = lock.readLock().holdAsync();
+        
+        write.close();
+        
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(writer.isDone());
+        assertFalse(third.isDone());
+        assertEquals(2, lock.getReadLockCount());
+    }
+    
+    
+    @Test
+    void release_fifo() {
+        var order = new ArrayList<String>();
+        var write = lock.writeLock().tryHold();
+        
+        lock.readLock().holdAsync().thenAccept(mutex -> { order.add("read 1"); mutex.close(); });
+        lock.writeLock().holdAsync().thenAccept(mutex -> { order.add("write 1"); mutex.close(); });
+        lock.readLock().holdAsync().thenAccept(mutex -> { order.add("read 2"); mutex.close(); });
+        lock.writeLock().holdAsync().thenAccept(mutex -> { order.add("write 2"); mutex.close(); });
+        
+        write.close();
+        
+        assertEquals(List.of("read 1", "write 1", "read 2", "write 2"), order);
+        assertFalse(lock.isWriteLocked());
+        assertEquals(0, lock.getReadLockCount());
+    }
+    
+    
+    @Test
+    void release_deep() {
+        var mutex = lock.writeLock().tryHold();
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        
+        for (int i = 0; i < 100_000; i++) {
+            var holdable = i % 2 == 0 ? lock.writeLock() : lock.readLock();
+            futures.add(holdable.holdAsync().thenAccept(Mutex::close));
+        }
+        
+        mutex.close();
+        
+        assertTrue(futures.stream().allMatch(future -> future.isDone() && !future.isCompletedExceptionally()));
+        assertFalse(lock.isWriteLocked());
+        assertEquals(0, lock.getReadLockCount());
+        assertEquals(0, lock.getQueueLength());
+    }
+    
+    
+    @Test
+    void release_cancelled() {
+        var read = lock.readLock().tryHold();
+        var cancelled = lock.writeLock().holdAsync();
+        var next = lock.readLock().holdAsync();
+        
+        cancelled.cancel(false);
+        read.close();
+        
+        assertTrue(next.isDone());
+        assertEquals(0, lock.getQueueLength());
+    }
+    
+    
+    @Test
+    void holdAsync_executor() {
+        var executor = new Deferred();
+        var read = lock.readLock().holdAsync(executor);
+        var write = lock.writeLock().holdAsync(executor);
+        
+        assertFalse(read.isDone());
+        executor.run();
+        assertTrue(read.isDone());
+        
+        read.join().close();
+        assertFalse(write.isDone());
+        executor.run();
+        assertTrue(write.isDone());
+    }
+    
+    
+    @Test
+    void tryHold() {
+        var read = lock.readLock().tryHold();
+        
+        assertNotNull(read);
+        assertNotNull(lock.readLock().tryHold());
+        assertNull(lock.writeLock().tryHold());
+    }
+    
+    
+    @Test
+    void tryHold_write() {
+        var write = lock.writeLock().tryHold();
+        
+        assertNotNull(write);
+        assertNull(lock.readLock().tryHold());
+        assertNull(lock.writeLock().tryHold());
+        
+        write.close();
+        assertNotNull(lock.readLock().tryHold());
+    }
+    
+}
@@ -23,9 +23,13 @@
  */
 package com.karuslabs.commons.util.concurrent.locks;
 
+import java.util.concurrent.*;
+import java.util.stream.LongStream;
+
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 
@@ -57,4 +61,54 @@ class AutoLockTest {
         assertEquals(0, lock.getHoldCount());
     }
     
+    
+    @Test
+    void instrumented() throws InterruptedException {
+        var lock = AutoLock.instrumented("AutoLockTest.instrumented");
+        
+        try (var mutex = lock.hold()) {
+            try (var nested = lock.holdInterruptibly()) {
+                Thread.sleep(1);
+            }
+        }
+        assertTrue(lock.tryLock());
+        lock.unlock();
+        assertTrue(lock.tryLock(1, SECONDS));
+        lock.unlock();
+        
+        var snapshot = LockRegistry.registry().get("AutoLockTest.instrumented").snapshot();
+        assertEquals(4, snapshot.acquisitions());
+        assertEquals(0, snapshot.contentions());
+        assertEquals(3, LongStream.of(snapshot.holds()).sum());
+        assertTrue(snapshot.holdPercentile(100) > 1_000_000);
+    }
+    
+    
+    @Test
+    void instrumented_contended() throws InterruptedException, ExecutionException {
+        var lock = AutoLock.instrumented("AutoLockTest.instrumented_contended", true);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future;
+            try (var mutex = lock.hold()) {
+                future = executor.submit(() -> {
+                    try (var other = lock.hold()) {}
+                });
+                
+                while (!lock.hasQueuedThreads()) {
+                    Thread.sleep(1);
+                }
+            }
+            future.get();
+            
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        var snapshot = LockRegistry.registry().get("AutoLockTest.instrumented_contended").snapshot();
+        assertEquals(2, snapshot.acquisitions());
+        assertEquals(1, snapshot.contentions());
+        assertEquals(1, snapshot.maximumQueueLength());
+    }
+    
 }
@@ -28,7 +28,7 @@ import com.karuslabs.commons.util.concurrent.locks.AutoReadWriteLock.*;
 
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.*;
-import java.util.stream.Stream;
+import java.util.stream.*;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -117,4 +117,32 @@ class AutoReadWriteLockTest {
         verify(writer).isHeldByCurrentThread();
     }
     
+    
+    @Test
+    void instrumented() throws InterruptedException {
+        var lock = AutoReadWriteLock.instrumented("AutoReadWriteLockTest.instrumented");
+        
+        try (var mutex = lock.readLock().hold()) {
+            try (var nested = lock.readLock().holdInterruptibly()) {}
+        }
+        assertTrue(lock.readLock().tryLock(1, DAYS));
+        lock.readLock().unlock();
+        
+        try (var mutex = lock.writeLock().hold()) {
+            assertTrue(lock.writeLock().tryLock());
+            lock.writeLock().unlock();
+        }
+        
+        var registry = LockRegistry.registry();
+        var reads = registry.get("AutoReadWriteLockTest.instrumented.read").snapshot();
+        var writes = registry.get("AutoReadWriteLockTest.instrumented.write").snapshot();
+        
+        assertEquals(3, reads.acquisitions());
+        assertEquals(2, LongStream.of(reads.holds()).sum());
+        assertEquals(2, writes.acquisitions());
+        assertEquals(1, LongStream.of(writes.holds()).sum());
+        assertEquals(0, lock.getReadLockCount());
+        assertFalse(lock.isWriteLocked());
+    }
+    
 }
@@ -0,0 +1,217 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import com.karuslabs.commons.util.concurrent.locks.AutoStampedLock.HoldableLock;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+class AutoStampedLockTest {
+    
+    AutoStampedLock lock = new AutoStampedLock();
+    
+    
+    @Test
+    void holdableLock() throws InterruptedException {
+        Lock delegate = when(mock(Lock.class).toString()).thenReturn("delegate").getMock();
+        var wrapper = new HoldableLock(delegate);
+        
+        wrapper.lock();
+        verify(delegate).lock();
+        
+        wrapper.lockInterruptibly();
+        verify(delegate).lockInterruptibly();
+        
+        wrapper.newCondition();
+        verify(delegate).newCondition();
+
+        wrapper.tryLock();
+        verify(delegate).tryLock();
+        
+        wrapper.tryLock(1, DAYS);
+        verify(delegate).tryLock(1, DAYS);
+        
+        wrapper.unlock();
+        verify(delegate).unlock();
+        
+        assertEquals(wrapper.toString(), "delegate");
+    }
+    
+    
+    @Test
+    void asAutoReadLock() throws InterruptedException {
+        try (var mutex = lock.asAutoReadLock().hold()) {
+            try (var other = lock.asAutoReadLock().holdInterruptibly()) {
+                assertEquals(2, lock.getReadLockCount());
+            }
+        }
+        
+        assertFalse(lock.isReadLocked());
+    }
+    
+    
+    @Test
+    void asAutoWriteLock() throws InterruptedException {
+        try (var mutex = lock.asAutoWriteLock().hold()) {
+            assertTrue(lock.isWriteLocked());
+        }
+        
+        try (var mutex = lock.asAutoWriteLock().holdInterruptibly()) {
+            assertTrue(lock.isWriteLocked());
+        }
+        
+        assertFalse(lock.isWriteLocked());
+    }
+    
+    
+    @Test
+    void optimistic() {
+        assertEquals("a", lock.optimistic(() -> {
+            assertFalse(lock.isReadLocked());
+            return "a";
+        }));
+    }
+    
+    
+    @Test
+    void optimistic_invalidated() {
+        var calls = new AtomicInteger();
+        
+        var value = lock.optimistic(() -> {
+            if (calls.getAndIncrement() == 0) {
+                lock.unlockWrite(lock.writeLock());
+                return "stale";
+            }
+            
+            assertTrue(lock.isReadLocked());
+            return "fresh";
+        });
+        
+        assertEquals("fresh", value);
+        assertEquals(2, calls.get());
+        assertFalse(lock.isReadLocked());
+    }
+    
+    
+    @Test
+    void optimistic_invalidated_exception() {
+        var calls = new AtomicInteger();
+        
+        var value = lock.optimistic(() -> {
+            if (calls.getAndIncrement() == 0) {
+                lock.unlockWrite(lock.writeLock());
+                throw new IndexOutOfBoundsException();
+            }
+            
+            return "fresh";
+        });
+        
+        assertEquals("fresh", value);
+    }
+    
+    
+    @Test
+    void optimistic_exception() {
+        assertThrows(IllegalStateException.class, () -> lock.optimistic(() -> { throw new IllegalStateException(); }));
+        assertFalse(lock.isReadLocked());
+    }
+    
+    
+    @Test
+    void optimistic_write_locked() throws InterruptedException, ExecutionException, TimeoutException {
+        var stamp = lock.writeLock();
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var future = executor.submit(() -> lock.optimistic(() -> "a"));
+            Thread.sleep(50);
+            
+            assertFalse(future.isDone());
+            lock.unlockWrite(stamp);
+            assertEquals("a", future.get(10, SECONDS));
+            
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    
+    @Test
+    void upgrade() {
+        assertTrue(lock.upgrade(() -> true, () -> assertTrue(lock.isWriteLocked())));
+        assertFalse(lock.isWriteLocked());
+        assertFalse(lock.isReadLocked());
+    }
+    
+    
+    @Test
+    void upgrade_condition() {
+        assertFalse(lock.upgrade(() -> false, () -> fail()));
+        assertFalse(lock.isReadLocked());
+    }
+    
+    
+    @Test
+    void upgrade_contended() throws InterruptedException, ExecutionException, TimeoutException {
+        var stamp = lock.readLock();
+        var evaluations = new AtomicInteger();
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var future = executor.submit(() -> lock.upgrade(() -> evaluations.incrementAndGet() < 2, () -> fail()));
+            while (evaluations.get() == 0) {
+                Thread.sleep(1);
+            }
+            
+            lock.unlockRead(stamp);
+            assertFalse(future.get(10, SECONDS));
+            assertEquals(2, evaluations.get());
+            
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertFalse(lock.isWriteLocked());
+    }
+    
+    
+    @Test
+    void downgrade() {
+        assertEquals("a", lock.downgrade(() -> assertTrue(lock.isWriteLocked()), () -> {
+            assertFalse(lock.isWriteLocked());
+            assertTrue(lock.isReadLocked());
+            return "a";
+        }));
+        
+        assertFalse(lock.isReadLocked());
+    }
+    
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class LockRegistryTest {
+    
+    LockRegistry registry = new LockRegistry();
+    
+    
+    @Test
+    void registry() {
+        assertSame(LockRegistry.registry(), LockRegistry.registry());
+    }
+    
+    
+    @Test
+    void register() {
+        var statistics = registry.register("a");
+        
+        assertSame(statistics, registry.register("a"));
+        assertSame(statistics, registry.get("a"));
+        
+        registry.unregister("a");
+        assertNull(registry.get("a"));
+    }
+    
+    
+    @Test
+    void snapshot() {
+        registry.register("b").acquire(1);
+        registry.register("a");
+        
+        var snapshot = registry.snapshot();
+        
+        assertEquals(List.of("a", "b"), List.copyOf(snapshot.keySet()));
+        assertEquals(1, snapshot.get("b").acquisitions());
+    }
+    
+    
+    @Test
+    void dump() throws IOException {
+        registry.register("b").acquire(1);
+        registry.register("a");
+        
+        var file = Files.createTempFile("locks", ".txt");
+        try {
+            registry.dump(file);
+            
+            var lines = Files.readAllLines(file);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).startsWith("a: acquisitions=0"));
+            assertTrue(lines.get(1).startsWith("b: acquisitions=1"));
+            
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    
+    @Test
+    void reset() {
+        registry.register("a").acquire(1);
+        
+        registry.reset();
+        
+        assertEquals(0, registry.get("a").snapshot().acquisitions());
+    }
+    
+}
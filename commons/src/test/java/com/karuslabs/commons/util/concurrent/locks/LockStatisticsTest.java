@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class LockStatisticsTest {
+    
+    LockStatistics statistics = new LockStatistics("lock");
+    
+    
+    @ParameterizedTest
+    @CsvSource({"0, 0", "1, 1", "2, 2", "3, 2", "4, 3", "1023, 10", "1024, 11", "-1, 0"})
+    void record(long nanos, int bucket) {
+        statistics.acquire(nanos);
+        
+        assertEquals(1, statistics.snapshot().waits()[bucket]);
+    }
+    
+    
+    @Test
+    void record_maximum() {
+        statistics.release(Long.MAX_VALUE);
+        
+        assertEquals(1, statistics.snapshot().holds()[63]);
+        assertEquals(Long.MAX_VALUE, statistics.snapshot().holdPercentile(100));
+    }
+    
+    
+    @Test
+    void snapshot() {
+        statistics.contend(3);
+        statistics.contend(2);
+        statistics.acquire(10);
+        statistics.acquire(20);
+        statistics.release(100);
+        
+        var snapshot = statistics.snapshot();
+        
+        assertEquals("lock", snapshot.name());
+        assertEquals(2, snapshot.acquisitions());
+        assertEquals(2, snapshot.contentions());
+        assertEquals(3, snapshot.maximumQueueLength());
+        assertEquals(16, snapshot.waitPercentile(50));
+        assertEquals(32, snapshot.waitPercentile(100));
+        assertEquals(128, snapshot.holdPercentile(99));
+        assertEquals(snapshot, statistics.snapshot());
+        assertEquals(
+            "lock: acquisitions=2, contentions=2, maximum queue length=3, wait p50/p99 < 16/32ns, hold p50/p99 < 128/128ns",
+            snapshot.toString()
+        );
+    }
+    
+    
+    @Test
+    void snapshot_empty() {
+        assertEquals(0, statistics.snapshot().waitPercentile(99));
+    }
+    
+    
+    @Test
+    void snapshot_percentile_illegal() {
+        assertEquals("Illegal percentile: 101.0", assertThrows(IllegalArgumentException.class, () -> statistics.snapshot().holdPercentile(101)).getMessage());
+    }
+    
+    
+    @Test
+    void reset() {
+        statistics.contend(3);
+        statistics.acquire(10);
+        statistics.release(100);
+        
+        statistics.reset();
+        
+        assertEquals(new LockStatistics("lock").snapshot(), statistics.snapshot());
+    }
+    
+}
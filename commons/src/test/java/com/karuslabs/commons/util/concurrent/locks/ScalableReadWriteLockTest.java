@@ -0,0 +1,253 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.ArrayList;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ScalableReadWriteLockTest {
+    
+    ScalableReadWriteLock lock = new ScalableReadWriteLock(false, 4);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    
+    
+    @Test
+    void readLock_hold() throws InterruptedException {
+        try (var mutex = lock.readLock().hold()) {
+            try (var other = lock.readLock().holdInterruptibly()) {
+                assertEquals(2, lock.readers.get(lock.slot() * ScalableReadWriteLock.STRIDE));
+                assertEquals(2, lock.getReadLockCount());
+                assertEquals(2, lock.getReadHoldCount());
+            }
+        }
+        
+        assertEquals(0, lock.readers.get(lock.slot() * ScalableReadWriteLock.STRIDE));
+        assertEquals(0, lock.getReadLockCount());
+    }
+    
+    
+    @Test
+    void readLock_hold_nested_writer() throws InterruptedException, ExecutionException, TimeoutException {
+        var writer = Executors.newSingleThreadExecutor();
+        try {
+            var held = new CountDownLatch(1);
+            var reader = executor.submit(() -> {
+                try (var outer = lock.readLock().hold()) {
+                    held.countDown();
+                    while (lock.isBiased()) {
+                        Thread.onSpinWait();
+                    }
+                    
+                    try (var nested = lock.readLock().hold()) {
+                        return lock.getReadHoldCount();
+                    }
+                }
+            });
+            
+            held.await();
+            var write = writer.submit(() -> {
+                try (var mutex = lock.writeLock().hold()) {
+                    return lock.isWriteLockedByCurrentThread();
+                }
+            });
+            
+            assertEquals(2, reader.get(10, SECONDS));
+            assertTrue(write.get(10, SECONDS));
+            
+        } finally {
+            executor.shutdownNow();
+            writer.shutdownNow();
+        }
+    }
+    
+    
+    @Test
+    void readLock_hold_revoked() {
+        lock.writeLock().lock();
+        lock.writeLock().unlock();
+        // An uncontended revocation is too short to reliably inhibit re-biasing
+        lock.inhibited = System.nanoTime() + HOURS.toNanos(1);
+        
+        assertFalse(lock.isBiased());
+        
+        try (var mutex = lock.readLock().hold()) {
+            assertEquals(1, lock.getReadLockCount());
+        }
+        
+        assertFalse(lock.isBiased());
+        lock.inhibited = System.nanoTime();
+        
+        try (var mutex = lock.readLock().hold()) {
+            assertEquals(1, lock.getReadLockCount());
+        }
+        
+        assertTrue(lock.isBiased());
+        assertEquals(0, lock.getReadLockCount());
+    }
+    
+    
+    @Test
+    void readLock_hold_downgrade() throws InterruptedException {
+        try (var write = lock.writeLock().hold()) {
+            try (var read = lock.readLock().hold()) {
+                assertEquals(1, lock.getReadHoldCount());
+            }
+            
+            Thread.sleep(10);
+            try (var read = lock.readLock().hold()) {
+                assertFalse(lock.isBiased());
+            }
+        }
+    }
+    
+    
+    @Test
+    void writeLock_lock() throws InterruptedException, ExecutionException, TimeoutException {
+        try {
+            var mutex = lock.readLock().hold();
+            var future = executor.submit(() -> {
+                try (var write = lock.writeLock().hold()) {
+                    return lock.isWriteLockedByCurrentThread();
+                }
+            });
+            
+            Thread.sleep(50);
+            assertFalse(future.isDone());
+            assertFalse(lock.isBiased());
+            
+            mutex.close();
+            assertTrue(future.get(10, SECONDS));
+            
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    
+    @Test
+    void writeLock_lockInterruptibly() throws InterruptedException {
+        lock.writeLock().lockInterruptibly();
+        
+        assertTrue(lock.isWriteLockedByCurrentThread());
+        assertFalse(lock.isBiased());
+        
+        lock.writeLock().unlock();
+    }
+    
+    
+    @Test
+    void writeLock_tryLock() throws InterruptedException, ExecutionException {
+        try {
+            try (var mutex = lock.readLock().hold()) {
+                assertFalse(executor.submit(() -> lock.writeLock().tryLock()).get());
+                assertFalse(executor.submit(() -> lock.writeLock().tryLock(10, MILLISECONDS)).get());
+                
+                assertTrue(lock.isBiased());
+                assertFalse(lock.isWriteLocked());
+            }
+            
+            assertTrue(executor.submit(() -> {
+                var locked = lock.writeLock().tryLock(10, MILLISECONDS);
+                lock.writeLock().unlock();
+                return locked;
+            }).get());
+            
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    
+    @Test
+    void writeLock_condition() throws InterruptedException, ExecutionException {
+        lock.writeLock().lock();
+        var condition = lock.writeLock().newCondition();
+        try {
+            assertFalse(lock.isBiased());
+            
+            var reader = executor.submit(() -> {
+                try (var mutex = lock.readLock().hold()) {
+                    return lock.isBiased();
+                }
+            });
+            
+            assertFalse(condition.await(200, MILLISECONDS));
+            assertTrue(reader.get());
+            
+            assertTrue(lock.isWriteLockedByCurrentThread());
+            assertFalse(lock.isBiased());
+            assertFalse(executor.submit(() -> lock.fast() != null).get());
+            
+        } finally {
+            lock.writeLock().unlock();
+            executor.shutdownNow();
+        }
+    }
+    
+    
+    @Test
+    void exclusion() throws InterruptedException, ExecutionException, TimeoutException {
+        var pool = Executors.newFixedThreadPool(4);
+        var values = new int[2];
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < 4; i++) {
+                var writer = i == 0;
+                futures.add(pool.submit(() -> {
+                    for (int j = 0; j < 2000; j++) {
+                        if (writer) {
+                            try (var mutex = lock.writeLock().hold()) {
+                                values[0]++;
+                                Thread.yield();
+                                values[1]++;
+                            }
+                            
+                        } else {
+                            try (var mutex = lock.readLock().hold()) {
+                                assertEquals(values[0], values[1]);
+                            }
+                        }
+                    }
+                }));
+            }
+            
+            for (var future : futures) {
+                future.get(60, SECONDS);
+            }
+            
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        assertEquals(2000, values[0]);
+        assertEquals(2000, values[1]);
+    }
+    
+}
@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class StripedLockTest {
+    
+    StripedLock lock = new StripedLock(16);
+    
+    
+    @ParameterizedTest
+    @CsvSource({"1, 1", "2, 2", "3, 4", "16, 16", "17, 32"})
+    void stripes(int stripes, int expected) {
+        assertEquals(expected, new StripedLock(stripes).stripes());
+    }
+    
+    
+    @Test
+    void stripes_illegal() {
+        assertEquals("Illegal number of stripes: 0", assertThrows(IllegalArgumentException.class, () -> new StripedLock(0)).getMessage());
+    }
+    
+    
+    @Test
+    void get() {
+        assertSame(lock.get("a"), lock.get("a"));
+        assertSame(lock.get(null), lock.get(0));
+    }
+    
+    
+    @Test
+    void get_distribution() {
+        var used = new boolean[lock.stripes()];
+        for (int i = 0; i < 64; i++) {
+            used[Stripes.index(i, lock.mask)] = true;
+        }
+        
+        for (var stripe : used) {
+            assertTrue(stripe);
+        }
+    }
+    
+    
+    @Test
+    void hold() throws InterruptedException {
+        try (var mutex = lock.hold("a")) {
+            assertTrue(lock.get("a").isHeldByCurrentThread());
+        }
+        
+        try (var mutex = lock.holdInterruptibly("a")) {
+            assertTrue(lock.get("a").isHeldByCurrentThread());
+        }
+        
+        assertFalse(lock.get("a").isLocked());
+    }
+    
+    
+    @Test
+    void holdAll() {
+        try (var mutex = lock.holdAll("a", "b", "a")) {
+            assertEquals(1, lock.get("a").getHoldCount());
+            assertTrue(lock.get("b").isHeldByCurrentThread());
+        }
+        
+        assertFalse(lock.get("a").isLocked());
+        assertFalse(lock.get("b").isLocked());
+    }
+    
+    
+    @Test
+    void holdAll_order() throws InterruptedException, ExecutionException, TimeoutException {
+        var keys = new Object[] {1, 2, 3, 4, 5, 6, 7, 8};
+        var reversed = new Object[] {8, 7, 6, 5, 4, 3, 2, 1};
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var a = executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    try (var mutex = lock.holdAll(keys)) {}
+                }
+            });
+            var b = executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    try (var mutex = lock.holdAll(reversed)) {}
+                }
+            });
+            
+            a.get(30, SECONDS);
+            b.get(30, SECONDS);
+            
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    
+    @Test
+    void indices() {
+        var indices = Stripes.indices(new Object[] {"a", "b", "c", "a"}, lock.mask);
+        
+        for (int i = 1; i < indices.length; i++) {
+            assertTrue(indices[i - 1] < indices[i]);
+        }
+        assertTrue(indices.length <= 3);
+    }
+    
+}
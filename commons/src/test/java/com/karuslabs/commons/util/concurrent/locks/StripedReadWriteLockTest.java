@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Karus Labs.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.karuslabs.commons.util.concurrent.locks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class StripedReadWriteLockTest {
+    
+    StripedReadWriteLock lock = new StripedReadWriteLock(8, true);
+    
+    
+    @Test
+    void get() {
+        assertEquals(8, lock.stripes());
+        assertSame(lock.get("a"), lock.get("a"));
+        assertTrue(lock.get("a").isFair());
+    }
+    
+    
+    @Test
+    void holdRead() {
+        try (var mutex = lock.holdRead("a")) {
+            try (var other = lock.holdRead("a")) {
+                assertEquals(2, lock.get("a").getReadHoldCount());
+            }
+        }
+        
+        assertEquals(0, lock.get("a").getReadLockCount());
+    }
+    
+    
+    @Test
+    void holdAllRead() {
+        try (var mutex = lock.holdAllRead("a", "b", "b")) {
+            assertEquals(1, lock.get("b").getReadHoldCount());
+            assertEquals(1, lock.get("a").getReadHoldCount());
+        }
+        
+        assertEquals(0, lock.get("a").getReadLockCount());
+        assertEquals(0, lock.get("b").getReadLockCount());
+    }
+    
+    
+    @Test
+    void holdWrite() {
+        try (var mutex = lock.holdWrite("a")) {
+            assertTrue(lock.get("a").isWriteLockedByCurrentThread());
+        }
+        
+        assertFalse(lock.get("a").isWriteLocked());
+    }
+    
+    
+    @Test
+    void holdAllWrite() {
+        try (var mutex = lock.holdAllWrite("a", "b", "c")) {
+            assertTrue(lock.get("a").isWriteLockedByCurrentThread());
+            assertTrue(lock.get("b").isWriteLockedByCurrentThread());
+            assertTrue(lock.get("c").isWriteLockedByCurrentThread());
+            assertEquals(1, lock.get("a").getWriteHoldCount());
+        }
+        
+        assertFalse(lock.get("a").isWriteLocked());
+        assertFalse(lock.get("b").isWriteLocked());
+        assertFalse(lock.get("c").isWriteLocked());
+    }
+    
+}